@@ -0,0 +1,19 @@
+package pawjump;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of benchmarks.jar: the usual JMH command line, with the gc profiler always on so
+// every result reports the allocation rate (gc.alloc.rate.norm, bytes per op) next to ops/s.
+//
+//   java -jar bench/target/benchmarks.jar [regex] [JMH options]
+//
+// Run from the repository root so the render benchmark finds images/.
+public class Benchmarks {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package pawjump;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Reading and atomically replacing the high score file, in a temporary directory. This is the
+// writer thread's cost; the game thread only pays for submitScore.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoreBenchmark {
+    private File file;
+    private int score = 0;
+    private PersistenceService service;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = File.createTempFile("highscore", ".txt");
+        file.deleteOnExit();
+        PersistenceService.writeHighScore(file, 2650);
+        service = new PersistenceService(file, new File(file.getPath() + ".runs"));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() {
+        service.flush(10_000);
+        file.delete();
+        new File(file.getPath() + ".runs").delete();
+    }
+
+    @Benchmark
+    public int load() {
+        return PersistenceService.readHighScore(file);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        PersistenceService.writeHighScore(file, ++score);
+    }
+
+    // What the game thread pays when a run beats the high score
+    @Benchmark
+    public boolean submitScore() {
+        return service.submitScore(++score);
+    }
+}
@@ -0,0 +1,52 @@
+package pawjump;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.openjdk.jmh.annotations.*;
+
+// A full GamePanel.paintComponent into an offscreen 1280x720 image under headless AWT: the
+// background, items, platform, player, obstacles and HUD of a run in progress. The panel's
+// own frame loop is stopped; the reactive bot plays a few seconds of seeded game first. The
+// quality tier is pinned to high so the governor cannot switch tiers (and rebuild the back
+// buffer and layers) in the middle of a measurement.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Dpawjump.quality=high" })
+public class RenderBenchmark {
+    private GamePanel panel;
+    private BufferedImage frame;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            panel = new GamePanel(42L);
+            panel.stopLoop();
+        });
+        panel.setSize(1280, 720);
+        BotPolicy bot = BotPolicy.create("reactive", 42);
+        InputFrame in = new InputFrame();
+        for (int i = 0; i < 600; i++) {
+            bot.decide(panel.simulation(), in);
+            panel.tick(in.jump);
+        }
+        frame = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        g = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.paintComponent(g);
+        return frame;
+    }
+}
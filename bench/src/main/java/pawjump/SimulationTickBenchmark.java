@@ -0,0 +1,51 @@
+package pawjump;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// One GameSimulation tick at a given level. The run is first played up to the level by the
+// reactive bot, with no fish quota and unlimited health so it always gets there; measured
+// ticks then jump on a fixed rhythm. When the run leaves the level it restarts from a fork of
+// the level's first tick, so every measured tick has that level's speed and obstacle mix.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationTickBenchmark {
+    @Param({ "1", "10", "50" })
+    public int level;
+
+    private GameSimulation start;
+    private GameSimulation sim;
+    private final InputFrame input = new InputFrame();
+    private long forks = 0;
+
+    @Setup(Level.Trial)
+    public void reachLevel() {
+        GameRules d = GameRules.DEFAULT;
+        GameRules rules = new GameRules(0, d.phaseLength, d.floatChance, d.movingChance, d.speedStep, d.spawns);
+        GameSimulation s = new GameSimulation(rules, 42);
+        BotPolicy bot = BotPolicy.create("reactive", 42);
+        InputFrame in = new InputFrame();
+        while (s.currentLevel < level) {
+            s.health = Integer.MAX_VALUE;
+            bot.decide(s, in);
+            s.step(in);
+            in.clear();
+        }
+        s.health = Integer.MAX_VALUE;
+        start = s;
+        sim = start.fork(forks);
+    }
+
+    @Benchmark
+    public GameSimulation tick() {
+        input.jump = sim.tick % 45 == 0;
+        sim.step(input);
+        input.clear();
+        if (sim.currentLevel != level) sim = start.fork(++forks);
+        return sim;
+    }
+}
@@ -0,0 +1,33 @@
+package pawjump;
+
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Slicing the decoded sprite sheets into frames and packing them into the atlas, as
+// AssetManager does at startup. Decoding the PNGs is not part of the measurement.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SpriteSlicingBenchmark {
+    private final Map<AssetManager.SheetId, BufferedImage> sheets = new EnumMap<>(AssetManager.SheetId.class);
+
+    @Setup(Level.Trial)
+    public void decodeSheets() {
+        for (AssetManager.SheetId id : AssetManager.SheetId.values()) {
+            BufferedImage sheet = AssetManager.read(id.file);
+            if (sheet != null) sheets.put(id, sheet);
+        }
+        if (sheets.isEmpty()) throw new IllegalStateException("no sprite sheets in images/; run from the repository root");
+    }
+
+    @Benchmark
+    public BufferedImage sliceIntoAtlas() {
+        return AssetManager.buildAtlas(sheets, new EnumMap<>(AssetManager.SheetId.class));
+    }
+}
@@ -0,0 +1,66 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+// Heavyweight surface for the opt-in active rendering mode (-Dpawjump.activeRender=true).
+// Frames are drawn into a page-flipped BufferStrategy with accelerated (VolatileImage) back
+// buffers and presented explicitly, instead of going through repaint() and Swing's own
+// double buffer.
+final class ActiveRenderSurface extends Canvas {
+    private final int bufferCount;
+    private BufferStrategy strategy;
+
+    ActiveRenderSurface(int bufferCount) {
+        this.bufferCount = Math.max(2, Math.min(3, bufferCount));
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+        setFocusable(true);
+    }
+
+    // Draw one frame with renderer and flip it to the screen. Returns false while the
+    // surface is not displayable yet (the frame is simply skipped).
+    boolean present(Consumer<Graphics2D> renderer) {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) return false;
+        if (strategy == null) createStrategy();
+        // Back buffers are VolatileImages: redraw while their contents get restored or lost
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    renderer.accept(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        // Flush the window system queue so the flip is not batched with later frames
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    private void createStrategy() {
+        BufferCapabilities caps = new BufferCapabilities(
+                new ImageCapabilities(true), new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            createBufferStrategy(bufferCount, caps);
+        } catch (AWTException ex) {
+            // No accelerated page flipping on this device, let AWT pick the best it has
+            createBufferStrategy(bufferCount);
+        }
+        strategy = getBufferStrategy();
+    }
+
+    @Override
+    public void removeNotify() {
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+        super.removeNotify();
+    }
+}
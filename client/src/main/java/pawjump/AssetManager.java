@@ -0,0 +1,260 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+// Shared, immutable image registry. Every PNG under images/ is decoded once per process,
+// converted to the screen's compatible (accelerated) format, and the animation sheets are
+// sliced into one atlas. Callers get typed handles instead of file names.
+// Loading runs on a small worker pool, one decode per file in parallel, and is started by
+// PawJump.main so it overlaps the menu; get() waits for it if it is not done yet. Decoded
+// images and the pre-scaled variants built by prewarm() come from SpriteDiskCache when it is
+// current, and are written back to it (by saveDiskCache) when it was not.
+final class AssetManager {
+    // Single images
+    enum ImageId {
+        DAY("day.png"), NIGHT("night.png"), PLATFORM("platform.png"),
+        FISH("fish.png"), MEAT("meat.png"), SUPLEMEN("suplemen.png"), SHINE("shine.png"),
+        HEALTH("health.png"), BUSH("bush.png"), GROUND("ground.png"), BIRD("bird.png");
+
+        final String file;
+        ImageId(String file) { this.file = file; }
+    }
+
+    // Horizontal sprite sheets and how many equal-width frames each one holds
+    enum SheetId {
+        WALK("Walk.png", 6), HURT("Hurt.png", 2), ATTACK("Attack.png", 4), DEATH("Death.png", 4), BIRD("bird.png", 6);
+
+        final String file;
+        final int frameCount;
+        SheetId(String file, int frameCount) { this.file = file; this.frameCount = frameCount; }
+    }
+
+    // Handle to one frame inside the atlas
+    static final class Sprite {
+        final Image image;
+        final int x, y, w, h;
+
+        Sprite(Image image, int x, int y, int w, int h) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+    }
+
+    private static final String IMAGE_DIR = "images/";
+    // SpriteDiskCache keys: decoded files, and scaled variants (see variantKey)
+    private static final String FILE_KEY = "file:";
+    private static final Sprite[] NO_FRAMES = new Sprite[0];
+    // Transparent gap between atlas frames so filtered scaling never bleeds in a neighbour
+    private static final int ATLAS_PADDING = 1;
+
+    private final Map<ImageId, BufferedImage> images = new EnumMap<>(ImageId.class);
+    private final Map<SheetId, Sprite[]> frames = new EnumMap<>(SheetId.class);
+    private final SpriteDiskCache diskCache; // null when disabled
+
+    private static CompletableFuture<AssetManager> loading;
+    // Files decoded so far, out of loadSteps() (every distinct file, plus the atlas)
+    private static final AtomicInteger loadedSteps = new AtomicInteger();
+    private static final int LOAD_STEPS = distinctFiles().size() + 1;
+
+    // decoded holds every distinct file name that could be read
+    private AssetManager(Map<String, BufferedImage> decoded, SpriteDiskCache diskCache) {
+        this.diskCache = diskCache;
+        for (ImageId id : ImageId.values()) {
+            BufferedImage img = decoded.get(id.file);
+            if (img != null) images.put(id, img);
+        }
+        Map<SheetId, BufferedImage> sheets = new EnumMap<>(SheetId.class);
+        for (SheetId id : SheetId.values()) {
+            BufferedImage sheet = decoded.get(id.file);
+            if (sheet != null) sheets.put(id, sheet);
+        }
+        buildAtlas(sheets, frames); // the frames keep the atlas image
+    }
+
+    // Start loading in the background if that has not happened yet
+    static synchronized CompletableFuture<AssetManager> load() {
+        if (loading == null) loading = startLoading();
+        return loading;
+    }
+
+    // The shared registry, waiting for the background load when it is still running
+    static AssetManager get() {
+        return load().join();
+    }
+
+    static int loadedSteps() {
+        return loadedSteps.get();
+    }
+
+    static int loadSteps() {
+        return LOAD_STEPS;
+    }
+
+    // A file can back both an image and a sheet (bird.png); it is decoded once
+    private static Set<String> distinctFiles() {
+        Set<String> files = new LinkedHashSet<>();
+        for (ImageId id : ImageId.values()) files.add(id.file);
+        for (SheetId id : SheetId.values()) files.add(id.file);
+        return files;
+    }
+
+    private static CompletableFuture<AssetManager> startLoading() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "pawjump-assets");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletableFuture<SpriteDiskCache> diskCache = CompletableFuture.supplyAsync(() -> SpriteDiskCache.ENABLED
+                ? SpriteDiskCache.open(new File(SpriteDiskCache.CACHE_FILE), new File(IMAGE_DIR), distinctFiles()) : null, pool);
+        Map<String, BufferedImage> decoded = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> reads = new ArrayList<>();
+        for (String file : distinctFiles()) {
+            reads.add(diskCache.thenAcceptAsync(cache -> {
+                BufferedImage img = cache != null ? cache.image(FILE_KEY + file) : null;
+                if (img == null) {
+                    img = read(file);
+                    if (cache != null) cache.add(FILE_KEY + file, img);
+                }
+                if (img != null) decoded.put(file, img);
+                loadedSteps.incrementAndGet();
+            }, pool));
+        }
+        CompletableFuture<AssetManager> result = CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0]))
+                .thenApplyAsync(v -> {
+                    AssetManager assets = new AssetManager(decoded, diskCache.join());
+                    loadedSteps.incrementAndGet();
+                    return assets;
+                }, pool);
+        result.whenComplete((assets, error) -> pool.shutdown());
+        return result;
+    }
+
+    // Returns null when the file is missing, so callers can draw their fallback
+    BufferedImage image(ImageId id) {
+        return images.get(id);
+    }
+
+    // Returns an empty array when the sheet is missing
+    Sprite[] frames(SheetId id) {
+        Sprite[] f = frames.get(id);
+        return f != null ? f : NO_FRAMES;
+    }
+
+    // Put the scaled variant of an image into the ScaledImageCache, from the disk cache when it
+    // has it, otherwise by scaling (and remembering the result for the disk cache)
+    void prewarm(ImageId id, int w, int h, ScaledImageCache.Quality quality) {
+        BufferedImage src = images.get(id);
+        if (src == null) return;
+        String key = variantKey(id.name(), w, h, quality);
+        BufferedImage img = diskCache != null ? diskCache.image(key) : null;
+        if (img != null) {
+            ScaledImageCache.get().put(src, w, h, quality, img);
+        } else {
+            img = ScaledImageCache.get().get(src, w, h, quality);
+            if (diskCache != null) diskCache.add(key, img);
+        }
+    }
+
+    void prewarm(SheetId id, int w, int h, ScaledImageCache.Quality quality) {
+        Sprite[] f = frames(id);
+        for (int i = 0; i < f.length; i++) {
+            String key = variantKey(id.name() + "#" + i, w, h, quality);
+            BufferedImage img = diskCache != null ? diskCache.image(key) : null;
+            if (img != null) {
+                ScaledImageCache.get().put(f[i], w, h, quality, img);
+            } else {
+                img = ScaledImageCache.get().get(f[i], w, h, quality);
+                if (diskCache != null) diskCache.add(key, img);
+            }
+        }
+    }
+
+    private static String variantKey(String name, int w, int h, ScaledImageCache.Quality quality) {
+        return name + "@" + w + "x" + h + "/" + quality;
+    }
+
+    // Write the disk cache in the background if this run decoded or scaled anything it lacked
+    void saveDiskCache() {
+        if (diskCache != null && diskCache.dirty()) {
+            PersistenceService.get().writeFile(new File(SpriteDiskCache.CACHE_FILE), diskCache::writeTo);
+        }
+    }
+
+    // Slice every sheet into frames and stack each as one row of the atlas; fills framesOut with
+    // a Sprite per frame. Sheets too narrow for their frame count are skipped.
+    static BufferedImage buildAtlas(Map<SheetId, BufferedImage> sheets, Map<SheetId, Sprite[]> framesOut) {
+        int atlasW = 0, atlasH = 0;
+        for (Map.Entry<SheetId, BufferedImage> e : sheets.entrySet()) {
+            SheetId id = e.getKey();
+            BufferedImage sheet = e.getValue();
+            if (sheet.getWidth() < id.frameCount) continue;
+            int frameW = sheet.getWidth() / id.frameCount;
+            atlasW = Math.max(atlasW, id.frameCount * (frameW + ATLAS_PADDING));
+            atlasH += sheet.getHeight() + ATLAS_PADDING;
+        }
+        if (atlasW == 0) return null;
+        BufferedImage result = createCompatible(atlasW, atlasH, Transparency.TRANSLUCENT);
+        Graphics2D g2 = result.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        int rowY = 0;
+        for (Map.Entry<SheetId, BufferedImage> e : sheets.entrySet()) {
+            SheetId id = e.getKey();
+            BufferedImage sheet = e.getValue();
+            if (sheet.getWidth() < id.frameCount) continue;
+            int frameW = sheet.getWidth() / id.frameCount;
+            int frameH = sheet.getHeight();
+            Sprite[] f = new Sprite[id.frameCount];
+            for (int i = 0; i < id.frameCount; i++) {
+                int ax = i * (frameW + ATLAS_PADDING);
+                g2.drawImage(sheet, ax, rowY, ax + frameW, rowY + frameH, i * frameW, 0, (i + 1) * frameW, frameH, null);
+                f[i] = new Sprite(result, ax, rowY, frameW, frameH);
+            }
+            framesOut.put(id, f);
+            rowY += frameH + ATLAS_PADDING;
+        }
+        g2.dispose();
+        return result;
+    }
+
+    // Decode an image from the image directory; null when missing or unreadable
+    static BufferedImage read(String file) {
+        try {
+            BufferedImage src = ImageIO.read(new File(IMAGE_DIR + file));
+            if (src == null) return null;
+            return toCompatible(src);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    // Copy into the display's native pixel layout so blits stay on the fast (accelerated) path
+    private static BufferedImage toCompatible(BufferedImage src) {
+        int transparency = src.getColorModel().getTransparency();
+        BufferedImage dst = createCompatible(src.getWidth(), src.getHeight(), transparency);
+        Graphics2D g2 = dst.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(src, 0, 0, null);
+        g2.dispose();
+        return dst;
+    }
+
+    static BufferedImage createCompatible(int w, int h, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+}
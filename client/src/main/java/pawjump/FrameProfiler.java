@@ -0,0 +1,170 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+// Per-stage frame timing for GamePanel. Each stage of the frame loop is timed with
+// System.nanoTime into its own LogLinearHistogram; stages are timed back to back with lap(),
+// so a stage costs one clock read and one histogram increment (well under a microsecond for
+// the whole frame, against a 16 ms budget). Alongside: the interval between frames (FPS),
+// ticks dropped by the catch-up cap, bytes allocated on the game thread per frame, and the
+// input latency from a jump key press to the first presented frame that shows the jump.
+// The overlay (toggled in game) is a cached image refreshed a few times a second, and the
+// histograms of a session can be written out as CSV.
+final class FrameProfiler {
+    enum Stage {
+        UPDATE("update"), BACKGROUND("background"), ITEMS("items"), PLATFORM("platform"),
+        PLAYER("player"), OBSTACLES("obstacles"), HUD("hud"), PRESENT("present"), RENDER("render total");
+
+        final String label;
+        Stage(String label) { this.label = label; }
+    }
+
+    private static final long OVERLAY_REFRESH_NANOS = 250_000_000L;
+    private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+    private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
+
+    private final LogLinearHistogram[] stages = new LogLinearHistogram[Stage.values().length];
+    private final LogLinearHistogram frameInterval = new LogLinearHistogram();
+    private final LogLinearHistogram allocatedPerFrame = new LogLinearHistogram();
+    private final LogLinearHistogram inputLatency = new LogLinearHistogram();
+    private final com.sun.management.ThreadMXBean threads;
+    private long droppedTicks = 0;
+    private long lastFrameStart = -1, lastAllocated = -1;
+    // Frames per second over the last full second
+    private long fpsWindowStart = 0;
+    private int fpsFrames = 0, fps = 0;
+
+    private BufferedImage overlay;
+    private long overlayBuiltAt = Long.MIN_VALUE;
+    private String quality = "";
+
+    FrameProfiler() {
+        for (int i = 0; i < stages.length; i++) stages[i] = new LogLinearHistogram();
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean sun = bean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) bean : null;
+        threads = sun != null && sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled() ? sun : null;
+    }
+
+    // Called at the start of every frame on the game thread; returns the clock for lap()
+    long frameStart() {
+        long now = System.nanoTime();
+        if (lastFrameStart >= 0) frameInterval.record(now - lastFrameStart);
+        lastFrameStart = now;
+        if (threads != null) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            if (lastAllocated >= 0) allocatedPerFrame.record(allocated - lastAllocated);
+            lastAllocated = allocated;
+        }
+        fpsFrames++;
+        if (now - fpsWindowStart >= 1_000_000_000L) {
+            fps = fpsWindowStart == 0 ? 0 : fpsFrames;
+            fpsFrames = 0;
+            fpsWindowStart = now;
+        }
+        return now;
+    }
+
+    // Record the time since start against the stage and return the current clock, so the next
+    // stage can start from it
+    long lap(Stage stage, long start) {
+        long now = System.nanoTime();
+        stages[stage.ordinal()].record(now - start);
+        return now;
+    }
+
+    // A stage timed elsewhere (the simulation thread's tick, carried in its snapshot)
+    void record(Stage stage, long nanos) {
+        stages[stage.ordinal()].record(nanos);
+    }
+
+    void inputLatency(long nanos) {
+        inputLatency.record(Math.max(0, nanos));
+    }
+
+    void droppedTicks(long ticks) {
+        droppedTicks += ticks;
+    }
+
+    // Shown as the last overlay line (the QualityGovernor tier)
+    void setQuality(String line) {
+        quality = line;
+        overlayBuiltAt = Long.MIN_VALUE;
+    }
+
+    void reset() {
+        for (LogLinearHistogram h : stages) h.reset();
+        frameInterval.reset();
+        allocatedPerFrame.reset();
+        inputLatency.reset();
+        droppedTicks = 0;
+        lastFrameStart = lastAllocated = -1;
+        overlayBuiltAt = Long.MIN_VALUE;
+    }
+
+    // Draw the overlay at (x, y), rebuilding it when it is older than the refresh interval
+    void drawOverlay(Graphics2D g, int x, int y) {
+        long now = System.nanoTime();
+        if (overlay == null || now - overlayBuiltAt >= OVERLAY_REFRESH_NANOS) {
+            buildOverlay();
+            overlayBuiltAt = now;
+        }
+        g.drawImage(overlay, x, y, null);
+    }
+
+    private void buildOverlay() {
+        int lineH = 16, rows = stages.length + 6;
+        if (overlay == null) overlay = AssetManager.createCompatible(330, rows * lineH + 12, Transparency.TRANSLUCENT);
+        Graphics2D g = overlay.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setColor(OVERLAY_BACKGROUND);
+        g.fillRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(OVERLAY_FONT);
+        g.setColor(Color.WHITE);
+        int y = 6 + 12;
+        g.drawString(String.format(Locale.ROOT, "%-12s %7s %7s %7s", "stage (us)", "p50", "p99", "max"), 8, y);
+        for (Stage s : Stage.values()) {
+            LogLinearHistogram h = stages[s.ordinal()];
+            y += lineH;
+            g.drawString(String.format(Locale.ROOT, "%-12s %7.1f %7.1f %7.1f", s.label,
+                    h.percentile(0.5) / 1e3, h.percentile(0.99) / 1e3, h.max() / 1e3), 8, y);
+        }
+        y += lineH;
+        g.drawString(String.format(Locale.ROOT, "FPS %d   frame p99 %.1f ms", fps, frameInterval.percentile(0.99) / 1e6), 8, y);
+        y += lineH;
+        g.drawString("dropped ticks " + droppedTicks, 8, y);
+        y += lineH;
+        g.drawString(inputLatency.count() == 0 ? "input->motion: no jumps yet"
+                : String.format(Locale.ROOT, "input->motion p50 %.1f  p99 %.1f ms",
+                        inputLatency.percentile(0.5) / 1e6, inputLatency.percentile(0.99) / 1e6), 8, y);
+        y += lineH;
+        g.drawString(threads == null ? "allocation: not supported"
+                : String.format(Locale.ROOT, "alloc/frame p50 %d B  max %d B",
+                        allocatedPerFrame.percentile(0.5), allocatedPerFrame.max()), 8, y);
+        y += lineH;
+        g.drawString(quality, 8, y);
+        g.dispose();
+    }
+
+    // One row per histogram: count, mean, p50/p90/p99/p99.9 and max, in nanoseconds (bytes
+    // for the allocation row); dropped ticks as a last row
+    void writeCsv(Writer out) throws IOException {
+        out.write("metric,unit,count,mean,p50,p90,p99,p999,max\n");
+        for (Stage s : Stage.values()) writeRow(out, s.label, "ns", stages[s.ordinal()]);
+        writeRow(out, "frame interval", "ns", frameInterval);
+        if (threads != null) writeRow(out, "allocated per frame", "bytes", allocatedPerFrame);
+        writeRow(out, "input to motion", "ns", inputLatency);
+        out.write("dropped ticks,ticks,," + droppedTicks + ",,,,,\n");
+    }
+
+    private static void writeRow(Writer out, String metric, String unit, LogLinearHistogram h) throws IOException {
+        out.write(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%d,%d%n", metric, unit, h.count(), h.mean(),
+                h.percentile(0.5), h.percentile(0.9), h.percentile(0.99), h.percentile(0.999), h.max()));
+    }
+}
@@ -0,0 +1,281 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Cached HUD: the score box, the health box and the level-up banner are each rendered into
+// an offscreen translucent layer that is rebuilt only when a value it shows changes.
+// Text comes from pre-rasterized glyph strips, so rebuilding allocates nothing and the
+// steady-state cost is one blit per layer. On low quality tiers the boxes are drawn opaque,
+// which leaves every layer pixel either fully opaque or fully transparent, so the layers
+// become bitmask images and are copied instead of alpha-blended.
+final class HudLayer {
+    // Layout (same coordinates the HUD has always used on the 1280x720 screen)
+    private static final int SCORE_BOX_X = 20, SCORE_BOX_Y = 20, SCORE_BOX_W = 340, SCORE_BOX_H = 170;
+    private static final int TEXT_X = 18, TEXT_Y = 34; // relative to the score box
+    private static final int HEART_SIZE = 40, HEART_STEP = 48;
+    private static final int HEALTH_RIGHT_MARGIN = 50, HEALTH_TOP = 30, HEALTH_BAR_H = 60;
+    private static final int BANNER_PAD_X = 32, BANNER_PAD_Y = 18;
+
+    private static final Color SCORE_BOX_COLOR = new Color(20, 20, 30);
+    private static final Color HEALTH_BOX_COLOR = new Color(30, 30, 40);
+    private static final Color BANNER_BOX_COLOR = new Color(30, 30, 30);
+    private static final Color GOLD = new Color(255, 215, 0);
+
+    // Shared by every HudLayer and immutable once built by prewarm()
+    private static GlyphStrip scoreGlyphs, levelGlyphs, speedGlyphs, fishGlyphs, healthGlyphs, bannerGlyphs;
+
+    private final BufferedImage heartImg; // pre-scaled to HEART_SIZE, may be null
+    private final int maxHealth;
+    private final int healthGroupW, healthGroupX;
+    private final int healthBoxX, healthBoxY, healthBoxW, healthBoxH;
+
+    private boolean translucent = true;
+    private BufferedImage scoreLayer;
+    private BufferedImage healthLayer;
+    private BufferedImage bannerLayer;
+    private int bannerTextW, bannerTextH;
+
+    // Values currently rasterized into the layers; -1 forces the first build
+    private int shownScore = -1, shownLevel = -1, shownSpeedTenths = -1, shownFish = -1, shownFishNeeded = -1;
+    private int shownHealth = -1;
+    private int bannerLevel = -1;
+
+    // Rasterize the glyph strips, once per process. Font setup is slow the first time, so
+    // GamePanel.preload runs this on a worker while the menu is up; the first HudLayer runs it
+    // otherwise.
+    static synchronized void prewarm() {
+        if (bannerGlyphs != null) return;
+        scoreGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 32), Color.WHITE, "Score: 0123456789m");
+        levelGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 24), GOLD, "Level: 0123456789");
+        speedGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 22), new Color(120, 255, 120), "Kecepatan: 0123456789.x");
+        fishGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 22), new Color(80, 200, 255), "Fish Collected: 0123456789/");
+        healthGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 20), Color.WHITE, "Remaining Health");
+        bannerGlyphs = new GlyphStrip(new Font("Arial", Font.BOLD, 36), GOLD, "selamat anda naik level 0123456789!");
+    }
+
+    HudLayer(BufferedImage heartImg, int maxHealth) {
+        prewarm();
+        this.heartImg = heartImg != null
+                ? ScaledImageCache.get().get(heartImg, HEART_SIZE, HEART_SIZE, ScaledImageCache.Quality.NEAREST) : null;
+        this.maxHealth = maxHealth;
+        int barWidth = maxHealth * HEART_STEP;
+        healthGroupW = Math.max(barWidth, 180); // 180 is min width for text centering
+        healthGroupX = 1280 - healthGroupW - HEALTH_RIGHT_MARGIN;
+        healthBoxX = healthGroupX - 16;
+        healthBoxY = HEALTH_TOP - 12;
+        healthBoxW = healthGroupW + 32;
+        healthBoxH = HEALTH_BAR_H + 44;
+        scoreLayer = AssetManager.createCompatible(SCORE_BOX_W, SCORE_BOX_H, layerTransparency());
+        healthLayer = AssetManager.createCompatible(healthBoxW, healthBoxH, layerTransparency());
+    }
+
+    // Switch between see-through boxes and opaque ones (cheaper to draw); every layer is
+    // rebuilt on its next draw
+    void setTranslucent(boolean translucent) {
+        if (translucent == this.translucent) return;
+        this.translucent = translucent;
+        scoreLayer = AssetManager.createCompatible(SCORE_BOX_W, SCORE_BOX_H, layerTransparency());
+        healthLayer = AssetManager.createCompatible(healthBoxW, healthBoxH, layerTransparency());
+        bannerLayer = null;
+        shownScore = shownHealth = bannerLevel = -1;
+    }
+
+    private int layerTransparency() {
+        return translucent ? Transparency.TRANSLUCENT : Transparency.BITMASK;
+    }
+
+    private AlphaComposite boxComposite(float alpha) {
+        return translucent ? AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha) : AlphaComposite.SrcOver;
+    }
+
+    // Blit the HUD, rebuilding only the layers whose values changed since the last frame
+    void draw(Graphics g, int panelW, int panelH, int score, int level, int health,
+              int fishCollected, int fishNeeded, double speedMultiplier, boolean showBanner) {
+        int speedTenths = (int) Math.round(speedMultiplier * 10);
+        if (health != shownHealth) {
+            rebuildHealth(health);
+        }
+        if (score != shownScore || level != shownLevel || speedTenths != shownSpeedTenths
+                || fishCollected != shownFish || fishNeeded != shownFishNeeded) {
+            rebuildScore(score, level, speedTenths, fishCollected, fishNeeded);
+        }
+        g.drawImage(healthLayer, healthBoxX, healthBoxY, null);
+        g.drawImage(scoreLayer, SCORE_BOX_X, SCORE_BOX_Y, null);
+        if (showBanner) {
+            if (level != bannerLevel) rebuildBanner(level);
+            // Centered on the panel, text baseline as it was when drawn directly
+            int x = (panelW - bannerTextW) / 2 - BANNER_PAD_X;
+            int y = (panelH - bannerTextH) / 2 - BANNER_PAD_Y / 2;
+            g.drawImage(bannerLayer, x, y, null);
+        }
+    }
+
+    private void rebuildScore(int score, int level, int speedTenths, int fishCollected, int fishNeeded) {
+        shownScore = score;
+        shownLevel = level;
+        shownSpeedTenths = speedTenths;
+        shownFish = fishCollected;
+        shownFishNeeded = fishNeeded;
+        Graphics2D g = beginLayer(scoreLayer);
+        g.setComposite(boxComposite(0.65f));
+        g.setColor(SCORE_BOX_COLOR);
+        g.fillRoundRect(0, 0, SCORE_BOX_W, SCORE_BOX_H, 28, 28);
+        g.setComposite(AlphaComposite.SrcOver);
+        int x = scoreGlyphs.draw(g, "Score: ", TEXT_X, TEXT_Y);
+        x = scoreGlyphs.drawInt(g, score, x, TEXT_Y);
+        scoreGlyphs.draw(g, " m", x, TEXT_Y);
+        x = levelGlyphs.draw(g, "Level: ", TEXT_X, TEXT_Y + 30);
+        levelGlyphs.drawInt(g, level, x, TEXT_Y + 30);
+        x = speedGlyphs.draw(g, "Kecepatan: ", TEXT_X, TEXT_Y + 88);
+        x = speedGlyphs.drawInt(g, speedTenths / 10, x, TEXT_Y + 88);
+        x = speedGlyphs.draw(g, ".", x, TEXT_Y + 88);
+        x = speedGlyphs.drawInt(g, speedTenths % 10, x, TEXT_Y + 88);
+        speedGlyphs.draw(g, "x", x, TEXT_Y + 88);
+        x = fishGlyphs.draw(g, "Fish Collected: ", TEXT_X, TEXT_Y + 118);
+        x = fishGlyphs.drawInt(g, fishCollected, x, TEXT_Y + 118);
+        x = fishGlyphs.draw(g, "/", x, TEXT_Y + 118);
+        fishGlyphs.drawInt(g, fishNeeded, x, TEXT_Y + 118);
+        g.dispose();
+    }
+
+    private void rebuildHealth(int health) {
+        shownHealth = health;
+        Graphics2D g = beginLayer(healthLayer);
+        g.setComposite(boxComposite(0.7f));
+        g.setColor(HEALTH_BOX_COLOR);
+        g.fillRoundRect(0, 0, healthBoxW, healthBoxH, 28, 28);
+        g.setComposite(AlphaComposite.SrcOver);
+        // Label centered within the group, hearts below it (faded for missing health)
+        int groupX = healthGroupX - healthBoxX;
+        int labelY = HEALTH_TOP + 18 - healthBoxY;
+        String label = "Remaining Health";
+        healthGlyphs.draw(g, label, groupX + (healthGroupW - healthGlyphs.width(label)) / 2, labelY);
+        if (heartImg != null) {
+            int heartsX = groupX + (healthGroupW - maxHealth * HEART_STEP) / 2;
+            for (int i = 0; i < maxHealth; i++) {
+                g.setComposite(i < health ? AlphaComposite.SrcOver : AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.25f));
+                g.drawImage(heartImg, heartsX + i * HEART_STEP, labelY + 8, null);
+            }
+        }
+        g.dispose();
+    }
+
+    private void rebuildBanner(int level) {
+        bannerLevel = level;
+        String prefix = "selamat anda naik level ";
+        bannerTextW = bannerGlyphs.width(prefix) + bannerGlyphs.intWidth(level) + bannerGlyphs.width("!");
+        bannerTextH = bannerGlyphs.height;
+        int w = bannerTextW + BANNER_PAD_X * 2;
+        int h = bannerTextH + BANNER_PAD_Y;
+        if (bannerLayer == null || bannerLayer.getWidth() != w || bannerLayer.getHeight() != h) {
+            bannerLayer = AssetManager.createCompatible(w, h, layerTransparency());
+        }
+        Graphics2D g = beginLayer(bannerLayer);
+        g.setComposite(boxComposite(0.8f));
+        g.setColor(BANNER_BOX_COLOR);
+        g.fillRoundRect(0, 0, w, h, 32, 32);
+        g.setComposite(AlphaComposite.SrcOver);
+        int baseline = bannerGlyphs.ascent + BANNER_PAD_Y / 2;
+        int x = bannerGlyphs.draw(g, prefix, BANNER_PAD_X, baseline);
+        x = bannerGlyphs.drawInt(g, level, x, baseline);
+        bannerGlyphs.draw(g, "!", x, baseline);
+        g.dispose();
+    }
+
+    // Clear a layer to fully transparent and return a graphics for redrawing it
+    private static Graphics2D beginLayer(BufferedImage layer) {
+        Graphics2D g = layer.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        return g;
+    }
+
+    // One font + color rasterized once into a strip of glyph cells. Drawing text or numbers
+    // is a blit per character with no String or glyph-vector allocation.
+    static final class GlyphStrip {
+        private static final int PAD = 2; // room for glyph overhang outside its advance
+        private final String chars;
+        private final BufferedImage strip;
+        private final int[] cellX;
+        private final int[] advance;
+        final int ascent, height;
+
+        GlyphStrip(Font font, Color color, String charSet) {
+            StringBuilder unique = new StringBuilder();
+            for (int i = 0; i < charSet.length(); i++) {
+                if (unique.indexOf(String.valueOf(charSet.charAt(i))) < 0) unique.append(charSet.charAt(i));
+            }
+            chars = unique.toString();
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D sg = scratch.createGraphics();
+            FontMetrics fm = sg.getFontMetrics(font);
+            sg.dispose();
+            ascent = fm.getAscent();
+            height = fm.getHeight();
+            cellX = new int[chars.length()];
+            advance = new int[chars.length()];
+            int x = 0;
+            for (int i = 0; i < chars.length(); i++) {
+                cellX[i] = x;
+                advance[i] = fm.charWidth(chars.charAt(i));
+                x += advance[i] + PAD * 2;
+            }
+            strip = AssetManager.createCompatible(Math.max(1, x), height, Transparency.TRANSLUCENT);
+            Graphics2D g = strip.createGraphics();
+            g.setFont(font);
+            g.setColor(color);
+            for (int i = 0; i < chars.length(); i++) {
+                g.drawString(String.valueOf(chars.charAt(i)), cellX[i] + PAD, ascent);
+            }
+            g.dispose();
+        }
+
+        // Draw text with its baseline at y; returns the x after the last character
+        int draw(Graphics g, String text, int x, int y) {
+            for (int i = 0; i < text.length(); i++) {
+                x = drawChar(g, chars.indexOf(text.charAt(i)), x, y);
+            }
+            return x;
+        }
+
+        // Draw a non-negative integer without converting it to a String
+        int drawInt(Graphics g, int value, int x, int y) {
+            int div = 1;
+            while (value / div >= 10) div *= 10;
+            for (; div > 0; div /= 10) {
+                x = drawChar(g, chars.indexOf('0' + (value / div) % 10), x, y);
+            }
+            return x;
+        }
+
+        int width(String text) {
+            int w = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int idx = chars.indexOf(text.charAt(i));
+                if (idx >= 0) w += advance[idx];
+            }
+            return w;
+        }
+
+        int intWidth(int value) {
+            int w = 0;
+            do {
+                w += advance[chars.indexOf('0' + value % 10)];
+                value /= 10;
+            } while (value > 0);
+            return w;
+        }
+
+        private int drawChar(Graphics g, int idx, int x, int y) {
+            if (idx < 0) return x;
+            int sx = cellX[idx];
+            int cellW = advance[idx] + PAD * 2;
+            int dx = x - PAD;
+            int dy = y - ascent;
+            g.drawImage(strip, dx, dy, dx + cellW, dy + height, sx, 0, sx + cellW, height, null);
+            return x + advance[idx];
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package pawjump;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free queue of timestamped key presses from the event thread to the game loop. One
+// producer and one consumer: each side owns its index and publishes it with an ordered
+// write, so neither ever blocks or allocates. The ring holds the press code and its
+// System.nanoTime() stamp; when the loop falls so far behind that the ring is full, new
+// presses are dropped (a frozen game has no use for them).
+final class InputQueue {
+    static final int JUMP = 1;
+
+    private final int[] codes;
+    private final long[] stamps;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next to write, written by the producer
+
+    // capacity is rounded up to a power of two
+    InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        codes = new int[size];
+        stamps = new long[size];
+        mask = size - 1;
+    }
+
+    // Producer side; false when the queue is full
+    boolean offer(int code, long stampNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) return false;
+        int i = (int) (t & mask);
+        codes[i] = code;
+        stamps[i] = stampNanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer side: whether a press stamped before the given time is waiting
+    boolean hasBefore(long timeNanos) {
+        long h = head.get();
+        return h != tail.get() && stamps[(int) (h & mask)] - timeNanos < 0;
+    }
+
+    int peekCode() {
+        return codes[(int) (head.get() & mask)];
+    }
+
+    long peekStamp() {
+        return stamps[(int) (head.get() & mask)];
+    }
+
+    // Drop the press at the head (after peeking at it)
+    void remove() {
+        head.lazySet(head.get() + 1);
+    }
+
+    // Consumer side: drop everything queued
+    void clear() {
+        head.lazySet(tail.get());
+    }
+}
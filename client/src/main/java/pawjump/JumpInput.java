@@ -0,0 +1,67 @@
+package pawjump;
+
+// Turns timestamped jump presses into per-tick input for the simulation. Each tick covers
+// a span of real time [tickStart, tickStart + tick length); a press inside that span jumps
+// in that tick, with its position within the span passed on as the sub-tick lag
+// (InputFrame.jumpLag), so the arc starts where the key actually went down.
+//
+// A press the rules would drop, made while still in the air, is held for a moment instead
+// (jump buffer, -Dpawjump.jumpBuffer=<ms>, default 120) and jumps on the tick the player
+// lands, if that is within the window. The ground is flat with no ledges to run off, so there
+// is no coyote time. Only what the simulation finally sees goes into the recording, so
+// replays are unaffected by the setting.
+final class JumpInput {
+    static final long JUMP_BUFFER_NANOS = Long.getLong("pawjump.jumpBuffer", 120) * 1_000_000L;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final InputQueue queue = new InputQueue(64);
+    private final long tickNanos, bufferNanos;
+    private long pendingStamp = NONE;   // newest press not yet applied
+    private long appliedStamp;          // when the last jump fill() made became possible
+
+    JumpInput(long tickNanos, long bufferNanos) {
+        this.tickNanos = tickNanos;
+        this.bufferNanos = bufferNanos;
+    }
+
+    // Event thread: a press happened at stampNanos
+    void press(long stampNanos) {
+        queue.offer(InputQueue.JUMP, stampNanos);
+    }
+
+    // Game loop: fill in the jump for the tick starting at tickStart (real time of the
+    // simulation state before it); returns whether it jumps
+    boolean fill(GameSimulation sim, long tickStart, InputFrame input) {
+        // Presses made before this tick ends belong to it; a newer press restarts the buffer
+        while (queue.hasBefore(tickStart + tickNanos)) {
+            if (queue.peekCode() == InputQueue.JUMP) pendingStamp = queue.peekStamp();
+            queue.remove();
+        }
+        if (pendingStamp == NONE) return false;
+        if (tickStart - pendingStamp > bufferNanos) {
+            pendingStamp = NONE; // held too long
+            return false;
+        }
+        if (!sim.running || sim.jumping) return false; // still in the air: keep holding it
+        input.jump = true;
+        // A buffered press (made before this tick) jumps from the start of the tick
+        long intoTick = Math.max(0, pendingStamp - tickStart);
+        input.jumpLag = (int) Math.min(InputFrame.SUB_TICKS - 1, intoTick * InputFrame.SUB_TICKS / tickNanos);
+        // Latency counts from when the rules allowed the jump: a buffered press waited on them
+        appliedStamp = Math.max(pendingStamp, tickStart);
+        pendingStamp = NONE;
+        return true;
+    }
+
+    // When the jump the last successful fill() made was pressed, or for a buffered press the
+    // start of the tick that could take it (for latency tracking)
+    long appliedStamp() {
+        return appliedStamp;
+    }
+
+    // New run: forget held presses
+    void reset() {
+        queue.clear();
+        pendingStamp = NONE;
+    }
+}
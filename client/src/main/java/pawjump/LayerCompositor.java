@@ -0,0 +1,72 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+// Scrolling parallax layers. Each layer's tile (already at its drawn size) is repeated once
+// into an accelerated strip at least as wide as the viewport, so any scroll offset is covered
+// by at most two source rectangles: the strip from the offset to its end, then its start for
+// the rest. The per-frame cost is two blits per layer however narrow the tile is or how many
+// layers there are. All layers follow one camera position (GameSimulation.scrollX) times
+// their own scroll factor. A layer can hold several variants of the same size (day and
+// night) and draws whichever one it is asked for.
+final class LayerCompositor {
+    private static final class Layer {
+        final BufferedImage[] strips; // one per variant, null where the tile was missing
+        final double scrollFactor;
+        final int y, stripW, h;
+
+        Layer(BufferedImage[] strips, double scrollFactor, int y, int stripW, int h) {
+            this.strips = strips;
+            this.scrollFactor = scrollFactor;
+            this.y = y;
+            this.stripW = stripW;
+            this.h = h;
+        }
+    }
+
+    private final int viewportW;
+    private final List<Layer> layers = new ArrayList<>();
+
+    LayerCompositor(int viewportW) {
+        this.viewportW = viewportW;
+    }
+
+    // Add a layer drawn at y, scrolling left at scrollFactor times the camera, from tiles of
+    // tileW x tileH (null tiles draw nothing); returns the layer's handle for draw()
+    int addLayer(double scrollFactor, int y, int tileW, int tileH, BufferedImage... tiles) {
+        int copies = Math.max(1, (viewportW + tileW - 1) / tileW);
+        int stripW = copies * tileW;
+        BufferedImage[] strips = new BufferedImage[tiles.length];
+        for (int v = 0; v < tiles.length; v++) {
+            if (tiles[v] == null) continue;
+            BufferedImage strip = AssetManager.createCompatible(stripW, tileH, tiles[v].getColorModel().getTransparency());
+            Graphics2D g2 = strip.createGraphics();
+            g2.setComposite(AlphaComposite.Src);
+            for (int i = 0; i < copies; i++) g2.drawImage(tiles[v], i * tileW, 0, null);
+            g2.dispose();
+            strips[v] = strip;
+        }
+        layers.add(new Layer(strips, scrollFactor, y, stripW, tileH));
+        return layers.size() - 1;
+    }
+
+    // Draw one variant of a layer for the given camera position; false when that variant's
+    // tile was missing and nothing was drawn
+    boolean draw(Graphics g, int layer, int variant, double scrollX) {
+        Layer l = layers.get(layer);
+        BufferedImage strip = l.strips[variant];
+        if (strip == null) return false;
+        int offset = (int) Math.floorMod(Math.round(scrollX * l.scrollFactor), (long) l.stripW);
+        // From the offset to the end of the strip, then wrap around to its start
+        int firstW = Math.min(l.stripW - offset, viewportW);
+        g.drawImage(strip, 0, l.y, firstW, l.y + l.h, offset, 0, offset + firstW, l.h, null);
+        if (firstW < viewportW) {
+            int restW = viewportW - firstW;
+            g.drawImage(strip, firstW, l.y, viewportW, l.y + l.h, 0, 0, restW, l.h, null);
+        }
+        return true;
+    }
+}
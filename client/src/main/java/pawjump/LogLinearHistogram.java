@@ -0,0 +1,70 @@
+package pawjump;
+
+import java.util.Arrays;
+
+// Fixed-size histogram of non-negative longs (nanoseconds, bytes) with bounded relative error:
+// every power of two is split into 16 linear sub-buckets, so a bucket is at most 1/16 (6%)
+// wide relative to its values. Recording is an index computation and an increment, with no
+// allocation; values beyond 2^40 land in the last bucket.
+final class LogLinearHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0, total = 0, max = 0;
+
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts[index(value)]++;
+        count++;
+        total += value;
+        if (value > max) max = value;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        count = total = max = 0;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return count == 0 ? 0 : total / (double) count;
+    }
+
+    // Upper bound of the bucket holding the p-quantile (0 < p <= 1), capped at the maximum
+    long percentile(double p) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    private static int index(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int shift = exponent - SUB_BITS;
+        // Values in [2^exponent, 2^(exponent+1)) map to 16 buckets of width 2^shift
+        return (shift + 1) * SUB_BUCKETS + (int) ((v >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
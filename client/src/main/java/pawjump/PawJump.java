@@ -0,0 +1,917 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.*;
+
+public class PawJump {
+    public static void main(String[] args) throws IOException {
+        // Headless batch mode: java -jar pawjump-client.jar --balance key=value...
+        if (args.length > 0 && args[0].equals("--balance")) {
+            BalanceRunner.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Headless replay check: java -jar pawjump-client.jar --replay <file.pjr | directory>...
+        if (args.length > 0 && args[0].equals("--replay")) {
+            InputRecording.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // --seed <n> plays every run with the same random streams, so it can be replayed exactly
+        Long seed = null;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--seed")) seed = Long.parseLong(args[i + 1]);
+        }
+        final Long fixedSeed = seed;
+        // Read the saved high score here, before any window exists, so the event thread never waits on disk
+        PersistenceService.get();
+        // Decode and scale the game's images on worker threads while the menu is up
+        GamePanel.preload();
+        SwingUtilities.invokeLater(() -> {
+            MenuWindow menu = new MenuWindow(fixedSeed);
+            menu.setVisible(true);
+        });
+    }
+}
+
+class MenuWindow extends JFrame {
+    public MenuWindow(Long fixedSeed) {
+        setTitle("Paw Jump!");
+        setSize(520, 480);
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        setResizable(false);
+        setLocationRelativeTo(null);
+
+        JPanel panel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                g.setColor(new Color(30, 30, 60));
+                g.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        panel.setLayout(null);
+
+        // Game logo (show at full size, but scale down if too large for dialog)
+        final ImageIcon logoIcon = new ImageIcon("images/pawjump.png");
+        final int logoW = logoIcon.getIconWidth();
+        final int logoH = logoIcon.getIconHeight();
+        final int maxLogoW = 440;
+        final int maxLogoH = 160;
+        final int[] drawSize = new int[2];
+        drawSize[0] = logoW;
+        drawSize[1] = logoH;
+        if (logoW > maxLogoW || logoH > maxLogoH) {
+            double scaleW = maxLogoW / (double)logoW;
+            double scaleH = maxLogoH / (double)logoH;
+            double scale = Math.min(scaleW, scaleH);
+            drawSize[0] = (int)(logoW * scale);
+            drawSize[1] = (int)(logoH * scale);
+        }
+        final int drawW = drawSize[0];
+        final int drawH = drawSize[1];
+        JLabel logoLabel = new JLabel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2.drawImage(logoIcon.getImage(), 0, 0, drawW, drawH, this);
+                g2.dispose();
+            }
+        };
+        logoLabel.setBounds((520 - drawW) / 2, 60, drawW, drawH);
+        panel.add(logoLabel);
+
+        // Play button
+        JButton playBtn = new JButton("Play");
+        playBtn.setFont(new Font("Arial", Font.BOLD, 32));
+        playBtn.setBackground(new Color(60, 180, 255));
+        playBtn.setForeground(Color.WHITE);
+        playBtn.setFocusPainted(false);
+        playBtn.setBounds(160, 260, 200, 70);
+        playBtn.setEnabled(false);
+        playBtn.addActionListener(e -> {
+            // Start the game window and close the menu. The window can be resized freely (the
+            // frame is scaled to fit) or cover the screen with -Dpawjump.fullscreen=true
+            JFrame gameFrame = new JFrame("Paw Jump!");
+            gameFrame.setDefaultCloseOperation(EXIT_ON_CLOSE);
+            gameFrame.setResizable(true);
+            GamePanel panelGame = new GamePanel(fixedSeed);
+            panelGame.setPreferredSize(new Dimension(GamePanel.LOGICAL_W, GamePanel.LOGICAL_H));
+            gameFrame.add(panelGame);
+            this.dispose();
+            GraphicsDevice screen = getGraphicsConfiguration().getDevice();
+            if (GamePanel.FULLSCREEN && screen.isFullScreenSupported()) {
+                gameFrame.setUndecorated(true);
+                screen.setFullScreenWindow(gameFrame);
+            } else {
+                gameFrame.pack();
+                gameFrame.setLocationRelativeTo(null);
+                gameFrame.setVisible(true);
+            }
+            // Request focus for keyboard input
+            panelGame.requestFocusInWindow();
+        });
+        panel.add(playBtn);
+
+        // Highscore label (kept in memory by the persistence service)
+        int highScoreValue = PersistenceService.get().highScore();
+        JLabel highScoreLabel = new JLabel("High Score: " + highScoreValue + " m", SwingConstants.CENTER);
+        highScoreLabel.setFont(new Font("Arial", Font.BOLD, 26));
+        highScoreLabel.setForeground(new Color(255, 215, 0));
+        highScoreLabel.setBounds(0, 350, 520, 40);
+        panel.add(highScoreLabel);
+
+        // Asset loading progress; Play is enabled once the game's images are ready
+        JProgressBar loadingBar = new JProgressBar(0, AssetManager.loadSteps());
+        loadingBar.setStringPainted(true);
+        loadingBar.setString("Loading...");
+        loadingBar.setBounds(110, 405, 300, 18);
+        panel.add(loadingBar);
+        Timer progressTimer = new Timer(50, e -> {
+            int done = AssetManager.loadedSteps();
+            loadingBar.setValue(done);
+            loadingBar.setString(done < AssetManager.loadSteps() ? "Loading images " + done + "/" + AssetManager.loadSteps() : "Preparing sprites...");
+        });
+        progressTimer.start();
+        GamePanel.preload().whenComplete((assets, error) -> SwingUtilities.invokeLater(() -> {
+            progressTimer.stop();
+            loadingBar.setVisible(false);
+            playBtn.setEnabled(true);
+        }));
+
+        setContentPane(panel);
+    }
+}
+
+
+class GamePanel extends JPanel implements ActionListener, KeyListener {
+    // Game rules run in the headless simulation on its own thread (see runSimulation); the
+    // event thread only renders the snapshots it publishes and feeds it input. Everything
+    // from here to the snapshots below belongs to the simulation thread while a run is live.
+    private GameSimulation sim;
+    private final InputFrame input = new InputFrame();
+    // Key presses are stamped on the event thread and placed at their moment within a tick
+    private final JumpInput jumpInput = new JumpInput(TICK_NANOS, JumpInput.JUMP_BUFFER_NANOS);
+    private boolean toolJump = false; // set by tick(), bypasses the buffering
+    // Running totals carried to the render side in every snapshot
+    private long droppedTicks, jumps, lastJumpNanos;
+    // Images are decoded once per process by the shared asset registry
+    private final AssetManager assets = AssetManager.get();
+    // Pre-scaled variants of every image at the size it is drawn, so draws are 1:1 blits
+    private final ScaledImageCache scaledCache = ScaledImageCache.get();
+    // Offscreen HUD, rebuilt only when one of its values changes
+    private HudLayer hud;
+    // Shine effect image for suplemen
+    private BufferedImage shineImg = assets.image(AssetManager.ImageId.SHINE);
+    // Sheet frames of every animation clip (character and bird), indexed by clip id
+    private final AssetManager.Sprite[][] clipFrames = clipFrames(assets);
+    // Items
+    private BufferedImage suplemenImg = assets.image(AssetManager.ImageId.SUPLEMEN);
+    private BufferedImage meatImg = assets.image(AssetManager.ImageId.MEAT);
+    private BufferedImage fishImg = assets.image(AssetManager.ImageId.FISH);
+    // Background and platform
+    private BufferedImage dayBg = assets.image(AssetManager.ImageId.DAY);
+    private BufferedImage nightBg = assets.image(AssetManager.ImageId.NIGHT);
+    private BufferedImage platformImg = null;
+    private int platformImgW = 0;
+    private int platformImgH = 0;
+    // Parallax layers: the background at 0.025x the ground speed (day and night variants) and
+    // the platform at 1x, each pre-tiled into a strip drawn with at most two blits
+    private LayerCompositor layers;
+    private int backgroundLayer, platformLayer;
+    private static final int DAY = 0, NIGHT = 1;
+    // Obstacle and HUD images
+    private BufferedImage bushImg = assets.image(AssetManager.ImageId.BUSH);
+    private BufferedImage groundObsImg = assets.image(AssetManager.ImageId.GROUND);
+    private BufferedImage birdImg = assets.image(AssetManager.ImageId.BIRD);
+    private BufferedImage heartImg = assets.image(AssetManager.ImageId.HEALTH);
+    private JDialog gameOverDialog = null;
+    private Timer timer;
+    // High score, run log, recordings and profiles are all written off the game thread
+    private final PersistenceService persistence = PersistenceService.get();
+    private boolean deathRecorded = false;
+    private boolean runEnded = false;
+    // The loop keeps ticking for a moment after the run ends so the last frame shows, then
+    // the game over dialog opens; the pause is counted in ticks like every other delay
+    private static final int GAME_OVER_DELAY_TICKS = (100 + GameSimulation.TICK_MS - 1) / GameSimulation.TICK_MS;
+    private static final int QUOTA_FAILED_DELAY_TICKS = (20 + GameSimulation.TICK_MS - 1) / GameSimulation.TICK_MS;
+    private static final int EV_SHOW_GAME_OVER = 0;
+    private final TickWheel panelEvents = new TickWheel(1, 8);
+    private long panelTick = 0;
+    // Seed from the command line (--seed), or null for a fresh seed every run
+    private final Long fixedSeed;
+    // Every run's inputs are recorded and saved here when it ends (see InputRecording)
+    private InputRecording recording;
+    private final String RECORDINGS_DIR = "recordings";
+    // Fixed-timestep loop: game rules advance in constant ticks on the simulation thread, each
+    // covering a span of real time [T, T + tick) and run once real time reaches its end, when
+    // every press inside it is known and can jump at its own sub-tick position (JumpInput).
+    // The simulation therefore trails real time by up to one tick, and frames interpolate
+    // between the last two ticks to keep motion smooth.
+    // Rules are tuned per tick at the original 16 ms rate (62.5 Hz), so this sets the game speed,
+    // not just the simulation resolution: -Dpawjump.tickRate=<Hz> is a debugging and testing knob
+    // (slow motion, stress runs), not a player setting
+    private static final double DEFAULT_TICK_RATE = 62.5;
+    private static final double TICK_RATE = parseTickRate(System.getProperty("pawjump.tickRate"));
+    private static final long TICK_NANOS = (long)(1_000_000_000L / TICK_RATE);
+    private static final int MAX_TICKS_BEHIND = 8; // drop time instead of spiralling after a long stall
+    private long simClockNanos; // real time the simulation state corresponds to (end of its last tick)
+    // Positions at the previous tick, used to interpolate drawing between ticks
+    private double prevScrollX;
+    private int prevPlayerY;
+    private Thread simThread;
+    private volatile boolean simRunning = false;
+    // Simulation to event thread: the state of the latest tick, read without locks
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private long snapshotSeq = 0;
+    // Render side (event thread) from here on
+    private double renderAlpha = 1.0; // 0..1 position between the previous and the current tick
+    private long seenSeq = -1, seenDroppedTicks = 0, seenJumps = 0; // of the last snapshot drawn
+    // Opt-in active rendering (-Dpawjump.activeRender=true, -Dpawjump.buffers=2|3): frames are
+    // presented through a BufferStrategy canvas instead of repaint()
+    private static final boolean ACTIVE_RENDER = Boolean.getBoolean("pawjump.activeRender");
+    private ActiveRenderSurface activeSurface;
+    private final java.util.function.Consumer<Graphics2D> frameRenderer = this::renderFrame;
+    // Per-stage frame timings; F3 shows them over the game, and with -Dpawjump.profile=true (or
+    // once the overlay has been shown) each run's histograms are written to profiles/ as CSV
+    private final FrameProfiler profiler = new FrameProfiler();
+    private boolean profileOverlay = false;
+    private boolean profileExport = Boolean.getBoolean("pawjump.profile");
+    private final String PROFILES_DIR = "profiles";
+    // The world is laid out in 1280x720 logical coordinates and drawn into a back buffer at the
+    // internal resolution (-Dpawjump.resolution=WxH, e.g. 640x360 to save fill rate), which is
+    // presented to the window, whatever its size, with one scaled blit (letterboxed). Sprites
+    // are still 1:1 blits: their pre-scaled variants are built at the internal size.
+    static final int LOGICAL_W = 1280, LOGICAL_H = 720;
+    static final Dimension DEFAULT_RESOLUTION = parseResolution(System.getProperty("pawjump.resolution"));
+    // -Dpawjump.fullscreen=true opens the game as an exclusive full-screen window
+    static final boolean FULLSCREEN = Boolean.getBoolean("pawjump.fullscreen");
+    private BufferedImage backBuffer;
+    private Graphics2D backGraphics;
+    private double renderScale = 1.0; // internal pixels per logical pixel
+    private final AffineTransform logicalTransform = new AffineTransform();
+    private static final AffineTransform IDENTITY = new AffineTransform();
+    // The back buffer is presented with nearest-neighbour scaling, keeping pixel edges sharp
+    private static final ScaledImageCache.Quality PRESENT_QUALITY = ScaledImageCache.Quality.NEAREST;
+    // Steps the render quality down when frames miss their budget and back up when there is
+    // room again (-Dpawjump.quality=auto|high|medium|low|minimal, see QualityGovernor)
+    private final QualityGovernor quality = new QualityGovernor(System.getProperty("pawjump.quality", "auto"),
+            frameDelayMs() * 1_000_000L);
+    private QualityGovernor.Tier tier;
+    private static final Font NOTICE_FONT = new Font("Arial", Font.BOLD, 18);
+
+    public GamePanel(Long fixedSeed) {
+        this.fixedSeed = fixedSeed;
+        // Platform image comes from the shared registry
+        platformImg = assets.image(AssetManager.ImageId.PLATFORM);
+        if (platformImg != null) {
+            platformImgW = platformImg.getWidth();
+            platformImgH = platformImg.getHeight();
+        }
+        newSimulation();
+        publishSnapshot(0);
+        // Normally finished during the menu (see preload), so this does not wait
+        preload().join();
+        setInternalResolution(DEFAULT_RESOLUTION.width, DEFAULT_RESOLUTION.height);
+        hud = new HudLayer(heartImg, sim.maxHealth);
+        applyTier(quality.tier());
+        setBackground(Color.BLACK);
+        setFocusable(true);
+        addKeyListener(this);
+        if (ACTIVE_RENDER) {
+            // The canvas covers the whole panel and takes keyboard focus in its place
+            activeSurface = new ActiveRenderSurface(Integer.getInteger("pawjump.buffers", 3));
+            activeSurface.addKeyListener(this);
+            setLayout(new BorderLayout());
+            add(activeSurface, BorderLayout.CENTER);
+        }
+        // Frame timer runs at the display refresh rate, the simulation keeps its own fixed tick
+        timer = new Timer(frameDelayMs(), this);
+        timer.start();
+    }
+
+    // The simulation thread runs while the panel is on screen; tools that never show it drive
+    // it with tick() instead
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (simThread == null && timer.isRunning()) startSimulation();
+    }
+
+    @Override
+    public void removeNotify() {
+        stopSimulation();
+        super.removeNotify();
+    }
+
+    private void newSimulation() {
+        sim = new GameSimulation(GameRules.DEFAULT, fixedSeed != null ? fixedSeed : GameSimulation.newSeed());
+        recording = new InputRecording(sim.seed, sim.rules);
+        jumpInput.reset();
+        droppedTicks = jumps = 0;
+        deathRecorded = false;
+        runEnded = false;
+        panelEvents.cancel(EV_SHOW_GAME_OVER);
+    }
+
+    private static CompletableFuture<AssetManager> preloaded;
+
+    // Decode the assets and build the scaled variants in the background; started by PawJump.main
+    // so the work overlaps the menu and Play can build the panel straight away
+    static synchronized CompletableFuture<AssetManager> preload() {
+        if (preloaded == null) {
+            CompletableFuture<Void> glyphs = CompletableFuture.runAsync(HudLayer::prewarm);
+            preloaded = AssetManager.load().thenApplyAsync(assets -> {
+                prewarmScaledImages(assets);
+                return assets;
+            }).thenCombine(glyphs, (assets, done) -> assets);
+        }
+        return preloaded;
+    }
+
+    // Build the scaled variants for every size paintComponent uses at the default internal
+    // resolution, then save any the disk cache did not have
+    private static void prewarmScaledImages(AssetManager assets) {
+        double scale = DEFAULT_RESOLUTION.width / (double) LOGICAL_W;
+        java.util.function.IntUnaryOperator px = n -> Math.max(1, (int) Math.round(n * scale));
+        ScaledImageCache.Quality nearest = ScaledImageCache.Quality.NEAREST;
+        assets.prewarm(AssetManager.ImageId.DAY, DEFAULT_RESOLUTION.width, DEFAULT_RESOLUTION.height, nearest);
+        assets.prewarm(AssetManager.ImageId.NIGHT, DEFAULT_RESOLUTION.width, DEFAULT_RESOLUTION.height, nearest);
+        BufferedImage platform = assets.image(AssetManager.ImageId.PLATFORM);
+        if (platform != null) {
+            assets.prewarm(AssetManager.ImageId.PLATFORM, px.applyAsInt(platform.getWidth()), px.applyAsInt(platform.getHeight()), nearest);
+        }
+        int item = px.applyAsInt(GameSimulation.ITEM_SIZE);
+        assets.prewarm(AssetManager.ImageId.FISH, item, item, nearest);
+        assets.prewarm(AssetManager.ImageId.MEAT, item, item, nearest);
+        assets.prewarm(AssetManager.ImageId.SUPLEMEN, item, item, nearest);
+        int obstacle = px.applyAsInt(80), bird = px.applyAsInt(120);
+        assets.prewarm(AssetManager.SheetId.BIRD, obstacle, obstacle, nearest); // low quality tiers
+        assets.prewarm(AssetManager.ImageId.HEALTH, 40, 40, nearest); // the HUD layers stay at logical size
+        assets.prewarm(AssetManager.ImageId.BUSH, obstacle, obstacle, nearest);
+        assets.prewarm(AssetManager.ImageId.GROUND, obstacle, obstacle, nearest);
+        assets.prewarm(AssetManager.SheetId.BIRD, bird, bird, nearest);
+        // Player sprite: normal (3x) and meat effect (4.2x) sizes, plus the shine behind it
+        int[] playerScales = { GameSimulation.PLAYER_SIZE * 3, (int)(GameSimulation.PLAYER_SIZE * 4.2) };
+        for (int size : playerScales) {
+            int sprite = px.applyAsInt(size);
+            assets.prewarm(AssetManager.SheetId.WALK, sprite, sprite, nearest);
+            assets.prewarm(AssetManager.SheetId.HURT, sprite, sprite, nearest);
+            assets.prewarm(AssetManager.SheetId.ATTACK, sprite, sprite, nearest);
+            assets.prewarm(AssetManager.SheetId.DEATH, sprite, sprite, nearest);
+            int shineSize = px.applyAsInt((int)(size * 0.45));
+            assets.prewarm(AssetManager.ImageId.SHINE, shineSize, shineSize, ScaledImageCache.Quality.BILINEAR);
+            assets.prewarm(AssetManager.ImageId.SHINE, shineSize, shineSize, nearest);
+        }
+        assets.saveDiskCache();
+    }
+
+    // "640x360" to a size; the full logical size when missing or malformed. The world only
+    // scales uniformly, so the height always follows from the width at 16:9.
+    static Dimension parseResolution(String text) {
+        try {
+            int w = Integer.parseInt(text.trim().toLowerCase().split("x")[0].trim());
+            if (w > 0) return new Dimension(w, (int) Math.round(w * (double) LOGICAL_H / LOGICAL_W));
+        } catch (Exception ignored) {}
+        return new Dimension(LOGICAL_W, LOGICAL_H);
+    }
+
+    // Ticks per second between 1 and 1000 Hz; the tuned rate when missing, malformed or out of
+    // range (a zero, negative or infinite rate would stall or spin the loop)
+    static double parseTickRate(String text) {
+        try {
+            double hz = Double.parseDouble(text.trim());
+            if (hz >= 1 && hz <= 1000) return hz;
+        } catch (Exception ignored) {}
+        return DEFAULT_TICK_RATE;
+    }
+
+    // Switch the back buffer to a new internal size. The parallax strips are rebuilt for it;
+    // sprite variants at the new size are scaled on first use.
+    void setInternalResolution(int w, int h) {
+        if (backGraphics != null) backGraphics.dispose();
+        backBuffer = AssetManager.createCompatible(w, h, Transparency.OPAQUE);
+        backGraphics = backBuffer.createGraphics();
+        renderScale = w / (double) LOGICAL_W;
+        logicalTransform.setToScale(renderScale, renderScale);
+        backGraphics.setTransform(logicalTransform);
+        ScaledImageCache.Quality nearest = ScaledImageCache.Quality.NEAREST;
+        layers = new LayerCompositor(w);
+        backgroundLayer = layers.addLayer(0.025, 0, w, h,
+                dayBg != null ? scaledCache.get(dayBg, w, h, nearest) : null,
+                nightBg != null ? scaledCache.get(nightBg, w, h, nearest) : null);
+        if (platformImgW > 0 && platformImgH > 0) {
+            int tileW = scaledSize(platformImgW), tileH = scaledSize(platformImgH);
+            platformLayer = layers.addLayer(1.0, h - tileH, tileW, tileH,
+                    scaledCache.get(platformImg, tileW, tileH, nearest));
+        } else {
+            platformLayer = -1;
+        }
+    }
+
+    // Apply a quality tier: HUD translucency and internal resolution take effect here, the
+    // rest is read by renderWorld
+    private void applyTier(QualityGovernor.Tier t) {
+        tier = t;
+        hud.setTranslucent(t.translucentHud);
+        int w = DEFAULT_RESOLUTION.width / t.resolutionDivisor, h = DEFAULT_RESOLUTION.height / t.resolutionDivisor;
+        if (backBuffer.getWidth() != w || backBuffer.getHeight() != h) setInternalResolution(w, h);
+        profiler.setQuality("quality " + t + (quality.adaptive() ? " (auto)" : " (fixed)")
+                + "  last " + quality.lastTransition());
+    }
+
+    private int scaledSize(int logical) {
+        return Math.max(1, (int) Math.round(logical * renderScale));
+    }
+
+    // Blit the cached variant of img at the given size; a missing image draws nothing. The
+    // variant is built at the internal resolution and drawn at internal pixel coordinates, so
+    // it stays a 1:1 blit whatever the resolution.
+    private void drawScaled(Graphics2D g, BufferedImage img, int x, int y, int w, int h, ScaledImageCache.Quality quality) {
+        if (img != null) blit(g, scaledCache.get(img, scaledSize(w), scaledSize(h), quality), x, y);
+    }
+
+    private void drawScaled(Graphics2D g, AssetManager.Sprite sprite, int x, int y, int w, int h, ScaledImageCache.Quality quality) {
+        blit(g, scaledCache.get(sprite, scaledSize(w), scaledSize(h), quality), x, y);
+    }
+
+    private static AssetManager.Sprite[][] clipFrames(AssetManager assets) {
+        AssetManager.Sprite[][] frames = new AssetManager.Sprite[AnimationClip.count()][];
+        for (int c = 0; c < frames.length; c++) {
+            frames[c] = assets.frames(AssetManager.SheetId.valueOf(AnimationClip.get(c).sheet));
+        }
+        return frames;
+    }
+
+    // Sheet frame of a clip, or null when there is none (not animated, a finished ONCE clip, or
+    // the sheet is missing) so the caller draws its fallback
+    private AssetManager.Sprite clipSprite(int clip, int frame) {
+        if (clip == AnimationClip.NO_CLIP || frame == AnimationClip.NO_FRAME) return null;
+        AssetManager.Sprite[] f = clipFrames[clip];
+        return frame < f.length ? f[frame] : null;
+    }
+
+    private void blit(Graphics2D g, BufferedImage img, int x, int y) {
+        if (renderScale == 1.0) {
+            g.drawImage(img, x, y, null);
+            return;
+        }
+        g.setTransform(IDENTITY);
+        g.drawImage(img, (int) Math.round(x * renderScale), (int) Math.round(y * renderScale), null);
+        g.setTransform(logicalTransform);
+    }
+
+    // Frame interval matching the display refresh rate (falls back to 60 Hz when unknown)
+    private static int frameDelayMs() {
+        int refresh = 60;
+        try {
+            if (!GraphicsEnvironment.isHeadless()) {
+                int r = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+                if (r != DisplayMode.REFRESH_RATE_UNKNOWN) refresh = r;
+            }
+        } catch (Exception ignored) {}
+        return Math.max(1, 1000 / refresh);
+    }
+
+    // Start the simulation thread from the current state (start, retry)
+    private void startSimulation() {
+        simClockNanos = System.nanoTime();
+        storePreviousPositions();
+        simRunning = true;
+        simThread = new Thread(this::runSimulation, "pawjump-sim");
+        simThread.setDaemon(true);
+        simThread.start();
+    }
+
+    // Stop the simulation thread and wait for it, so the caller owns the simulation state
+    private void stopSimulation() {
+        simRunning = false;
+        if (simThread == null) return;
+        java.util.concurrent.locks.LockSupport.unpark(simThread);
+        boolean interrupted = false;
+        while (simThread.isAlive()) {
+            try {
+                simThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        simThread = null;
+    }
+
+    // Simulation thread: run every tick once real time reaches its end, and sleep in between.
+    // Neither a slow paint nor Swing event handling can hold game time back, and a burst of
+    // catch-up ticks never blocks the event thread.
+    private void runSimulation() {
+        while (simRunning) {
+            long now = System.nanoTime();
+            long behind = now - simClockNanos;
+            long maxBehind = TICK_NANOS * MAX_TICKS_BEHIND;
+            if (behind > maxBehind) {
+                droppedTicks += (behind - maxBehind) / TICK_NANOS;
+                simClockNanos = now - maxBehind;
+            }
+            while (simRunning && now - simClockNanos >= TICK_NANOS) {
+                runTick();
+            }
+            long wait = simClockNanos + TICK_NANOS - System.nanoTime();
+            if (wait > 0) java.util.concurrent.locks.LockSupport.parkNanos(wait);
+        }
+    }
+
+    // Copy the current state into the back snapshot and hand it to the render side
+    private void publishSnapshot(long updateNanos) {
+        RenderSnapshot snap = snapshots.back();
+        snap.copyFrom(sim, prevScrollX, prevPlayerY);
+        snap.seq = snapshotSeq++;
+        snap.simClockNanos = simClockNanos;
+        snap.updateNanos = updateNanos;
+        snap.droppedTicks = droppedTicks;
+        snap.jumps = jumps;
+        snap.lastJumpNanos = lastJumpNanos;
+        snapshots.publish();
+    }
+
+    private void storePreviousPositions() {
+        prevScrollX = sim.scrollX;
+        prevPlayerY = sim.playerY;
+    }
+
+    // Interpolate a position that only moves left; a jump to the right is a respawn, so snap to it
+    private double lerpLeftward(double prev, double cur) {
+        if (cur > prev) return cur;
+        return prev + (cur - prev) * renderAlpha;
+    }
+
+    // The finished recording is never touched again (the next run gets a new one), so the
+    // writer thread can encode it directly
+    private void saveRecording() {
+        String stamp = new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date());
+        File file = new File(RECORDINGS_DIR, "run-" + stamp + "-" + sim.seed + InputRecording.EXTENSION);
+        persistence.writeFile(file, recording::writeTo);
+    }
+
+    // The profiler keeps recording into the next run, so hand over a snapshot of its CSV
+    private void saveProfile() {
+        String stamp = new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date());
+        File file = new File(PROFILES_DIR, "frames-" + stamp + "-" + sim.seed + ".csv");
+        StringWriter csv = new StringWriter();
+        try {
+            profiler.writeCsv(csv);
+        } catch (IOException ignored) {}
+        byte[] bytes = csv.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        persistence.writeFile(file, out -> out.write(bytes));
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        // Frame timer: draw the latest snapshot (the simulation runs on its own thread)
+        if (activeSurface != null) {
+            activeSurface.present(frameRenderer);
+        } else {
+            repaint();
+        }
+    }
+
+    // One tick on the simulation thread (or the caller of tick()), then publish its snapshot
+    private void runTick() {
+        long start = System.nanoTime();
+        storePreviousPositions();
+        long tickStart = simClockNanos;
+        simClockNanos += TICK_NANOS;
+        panelTick++;
+        if (sim.gameOver) {
+            // Only the pause before the dialog is still running
+            if (panelEvents.advance(panelTick) > 0) {
+                simRunning = false;
+                SwingUtilities.invokeLater(() -> {
+                    timer.stop();
+                    showGameOverDialog();
+                });
+            }
+        } else {
+            if (jumpInput.fill(sim, tickStart, input)) {
+                jumps++;
+                lastJumpNanos = jumpInput.appliedStamp();
+            }
+            input.jump |= toolJump;
+            toolJump = false;
+            recording.record(sim.tick + 1, input);
+            sim.step(input);
+            input.clear();
+            afterTick();
+        }
+        publishSnapshot(System.nanoTime() - start);
+    }
+
+    // Benchmarks and tools drive the panel themselves: stop the frame loop and the simulation
+    // thread, then advance whole ticks with tick() and draw with paintComponent
+    void stopLoop() {
+        timer.stop();
+        stopSimulation();
+    }
+
+    void tick(boolean jump) {
+        toolJump = jump;
+        runTick();
+    }
+
+    GameSimulation simulation() {
+        return sim;
+    }
+
+    // React to what the last tick did: submit the high score on death, log the run and show
+    // the game over dialog
+    private void afterTick() {
+        if (sim.isDying && !deathRecorded) {
+            deathRecorded = true;
+            persistence.submitScore(sim.score);
+        }
+        if (sim.gameOver && !runEnded) {
+            runEnded = true;
+            persistence.recordRun(sim);
+            recording.finish(sim);
+            saveRecording();
+            // The profiler belongs to the event thread
+            SwingUtilities.invokeLater(() -> {
+                if (profileExport) saveProfile();
+            });
+            panelEvents.schedule(EV_SHOW_GAME_OVER,
+                    panelTick + (sim.levelUpFailed ? QUOTA_FAILED_DELAY_TICKS : GAME_OVER_DELAY_TICKS));
+        }
+    }
+
+    // Show a custom game over dialog with retry/close and colored text
+    private void showGameOverDialog() {
+        if (gameOverDialog != null && gameOverDialog.isVisible()) return;
+        JFrame parent = (JFrame) SwingUtilities.getWindowAncestor(this);
+        gameOverDialog = new JDialog(parent, "Game Over", true);
+        gameOverDialog.setSize(420, 300);
+        gameOverDialog.setLocationRelativeTo(this);
+        gameOverDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        gameOverDialog.setResizable(false);
+
+        JPanel panel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                // Custom background
+                g.setColor(new Color(30, 30, 60));
+                g.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        panel.setLayout(null);
+
+        JLabel title = new JLabel("GAME OVER", SwingConstants.CENTER);
+        title.setFont(new Font("Arial", Font.BOLD, 40));
+        title.setForeground(new Color(220, 40, 40));
+        title.setBounds(0, 20, 420, 50);
+        panel.add(title);
+
+
+        JLabel scoreLabel = new JLabel("Score: " + sim.score + " m", SwingConstants.CENTER);
+        scoreLabel.setFont(new Font("Arial", Font.BOLD, 28));
+        scoreLabel.setForeground(new Color(255, 215, 0));
+        scoreLabel.setBounds(0, 70, 420, 40);
+        panel.add(scoreLabel);
+
+        JLabel levelLabel = new JLabel("Level: " + sim.currentLevel, SwingConstants.CENTER);
+        levelLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        levelLabel.setForeground(new Color(120, 255, 255));
+        levelLabel.setBounds(0, 110, 420, 32);
+        panel.add(levelLabel);
+
+        JLabel highScoreLabel = new JLabel("High Score: " + persistence.highScore() + " m", SwingConstants.CENTER);
+        highScoreLabel.setFont(new Font("Arial", Font.BOLD, 22));
+        highScoreLabel.setForeground(new Color(100, 255, 100));
+        highScoreLabel.setBounds(0, 150, 420, 30);
+        panel.add(highScoreLabel);
+
+        JButton retryBtn = new JButton("Retry");
+        retryBtn.setFont(new Font("Arial", Font.BOLD, 22));
+        retryBtn.setBackground(new Color(60, 180, 255));
+        retryBtn.setForeground(Color.WHITE);
+        retryBtn.setFocusPainted(false);
+        retryBtn.setBounds(60, 180, 120, 50);
+        retryBtn.addActionListener(e -> {
+            gameOverDialog.dispose();
+            restartGame();
+        });
+        panel.add(retryBtn);
+
+        JButton closeBtn = new JButton("Close");
+        closeBtn.setFont(new Font("Arial", Font.BOLD, 22));
+        closeBtn.setBackground(new Color(220, 40, 40));
+        closeBtn.setForeground(Color.WHITE);
+        closeBtn.setFocusPainted(false);
+        closeBtn.setBounds(240, 180, 120, 50);
+        closeBtn.addActionListener(e -> {
+            System.exit(0);
+        });
+        panel.add(closeBtn);
+
+        // Seed of this run, to replay it with --seed
+        JLabel seedLabel = new JLabel("Seed: " + sim.seed, SwingConstants.CENTER);
+        seedLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        seedLabel.setForeground(new Color(170, 170, 200));
+        seedLabel.setBounds(0, 236, 420, 20);
+        panel.add(seedLabel);
+
+        gameOverDialog.setContentPane(panel);
+        gameOverDialog.setVisible(true);
+    }
+
+    // Restart the game from the dialog
+    private void restartGame() {
+        stopSimulation();
+        newSimulation();
+        publishSnapshot(0);
+        profiler.reset();
+        quality.reset();
+        seenSeq = -1;
+        seenDroppedTicks = seenJumps = 0;
+        timer.restart();
+        startSimulation();
+        requestFocusInWindow();
+    }
+
+    @Override
+    public boolean requestFocusInWindow() {
+        return activeSurface != null ? activeSurface.requestFocusInWindow() : super.requestFocusInWindow();
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        // In active mode the canvas on top presents frames itself
+        if (activeSurface == null) renderFrame((Graphics2D) g);
+    }
+
+    // Draw the world into the back buffer, then present it scaled to the panel, letterboxed
+    private void renderFrame(Graphics2D g) {
+        final long frameStart = profiler.frameStart();
+        RenderSnapshot snap = snapshots.acquire();
+        if (snap.seq != seenSeq) {
+            // The simulation thread's telemetry, recorded here where the profiler lives
+            seenSeq = snap.seq;
+            profiler.record(FrameProfiler.Stage.UPDATE, snap.updateNanos);
+            profiler.droppedTicks(snap.droppedTicks - seenDroppedTicks);
+            seenDroppedTicks = snap.droppedTicks;
+        }
+        // The snapshot's tick ended at its clock, up to a tick ago: draw one tick behind real
+        // time, between the snapshot and the tick before it. Tools draw the snapshot as is.
+        renderAlpha = simThread == null ? 1.0
+                : Math.max(0.0, Math.min(1.0, (frameStart - snap.simClockNanos) / (double) TICK_NANOS));
+        long lap = renderWorld(backGraphics, snap, frameStart);
+        int iw = backBuffer.getWidth(), ih = backBuffer.getHeight();
+        int pw = getWidth(), ph = getHeight();
+        double fit = Math.min(pw / (double) iw, ph / (double) ih);
+        int dw = (int) Math.round(iw * fit), dh = (int) Math.round(ih * fit);
+        int dx = (pw - dw) / 2, dy = (ph - dh) / 2;
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, PRESENT_QUALITY.hint);
+        g.drawImage(backBuffer, dx, dy, dx + dw, dy + dh, 0, 0, iw, ih, null);
+        profiler.lap(FrameProfiler.Stage.PRESENT, lap);
+        long end = profiler.lap(FrameProfiler.Stage.RENDER, frameStart);
+        if (snap.jumps != seenJumps) {
+            // First frame presented since the tick that took the jump
+            seenJumps = snap.jumps;
+            profiler.inputLatency(end - snap.lastJumpNanos);
+        }
+        if (profileOverlay) profiler.drawOverlay(g, dx + 20, dy + 200); // below the score box
+        if (quality.frame(end - frameStart)) applyTier(quality.tier());
+        if (quality.recentlyChanged(end)) {
+            // Brief notice after a tier change, centered along the top edge
+            String text = "Quality: " + tier;
+            g.setFont(NOTICE_FONT);
+            g.setColor(Color.WHITE);
+            g.drawString(text, dx + (dw - g.getFontMetrics().stringWidth(text)) / 2, dy + 28);
+        }
+    }
+
+    // Draw one complete frame of snapshot s in logical coordinates (g is scaled to the internal
+    // resolution); shared by the repaint() path and the active BufferStrategy path. Returns the
+    // profiler clock.
+    private long renderWorld(Graphics2D g, RenderSnapshot s, long frameStart) {
+        // Interpolated positions between the previous and the current tick
+        int drawPlayerY = (int)Math.round(s.prevPlayerY + (s.playerY - s.prevPlayerY) * renderAlpha);
+        double drawScrollX = s.prevScrollX + (s.scrollX - s.prevScrollX) * renderAlpha;
+        // Draw background (scrolling, seamless; day or night)
+        ScaledImageCache.Quality nearest = ScaledImageCache.Quality.NEAREST;
+        // The layers draw in internal pixels, outside the logical-to-internal scale
+        g.setTransform(IDENTITY);
+        // Low tiers hold the background still: one blit instead of two, and no strip seam to fetch
+        double backgroundX = tier.parallax ? drawScrollX * renderScale : 0;
+        if (!layers.draw(g, backgroundLayer, s.isDay ? DAY : NIGHT, backgroundX)) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, backBuffer.getWidth(), backBuffer.getHeight());
+        }
+        g.setTransform(logicalTransform);
+        long lap = profiler.lap(FrameProfiler.Stage.BACKGROUND, frameStart);
+        // Draw items: suplemen, meat and fish (always in front of background)
+        for (int i = 0; i < s.entityCount; i++) {
+            if (!EntityStore.isPickup(s.type[i])) continue;
+            BufferedImage itemImg = s.type[i] == EntityStore.FISH ? fishImg : s.type[i] == EntityStore.MEAT ? meatImg : suplemenImg;
+            int drawX = (int)Math.round(lerpLeftward(s.prevX[i], s.x[i]));
+            drawScaled(g, itemImg, drawX, s.y[i], s.w[i], s.h[i], nearest);
+        }
+        lap = profiler.lap(FrameProfiler.Stage.ITEMS, lap);
+
+        // (Pillar drawing removed)
+        // (Powerup drawing removed)
+
+        // Draw moving ground/platform image at the bottom of the window, smooth seamless loop
+        if (platformLayer >= 0) {
+            g.setTransform(IDENTITY);
+            layers.draw(g, platformLayer, 0, drawScrollX * renderScale);
+            g.setTransform(logicalTransform);
+        } else {
+            // fallback: solid color at the bottom
+            g.setColor(Color.DARK_GRAY);
+            g.fillRect(0, 650, 1280, 70);
+        }
+        lap = profiler.lap(FrameProfiler.Stage.PLATFORM, lap);
+        // Draw player (animated, bigger sprite but same hitbox)
+        int spriteW = (int)(s.playerW * (s.meatEffectActive ? 4.2 : 3));
+        int spriteH = (int)(s.playerH * (s.meatEffectActive ? 4.2 : 3));
+        int spriteX = s.playerX - (spriteW - s.playerW) / 2;
+        int spriteY = drawPlayerY + s.playerH - spriteH;
+        boolean shine = s.suplemenShine;
+        // The shine path used to switch the whole sprite draw to bilinear filtering; keep that look
+        // unless the quality tier has dropped filtering
+        ScaledImageCache.Quality shineQuality = tier.bilinearShine ? ScaledImageCache.Quality.BILINEAR : nearest;
+        ScaledImageCache.Quality spriteQuality = shine && shineImg != null ? shineQuality : nearest;
+        Graphics2D g2dSprite = (Graphics2D) g.create();
+        if (shine && shineImg != null) {
+            g2dSprite.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.85f));
+            // Draw shine image behind the sprite, centered and scaled (even smaller size, more up)
+            int shineW = (int)(spriteW * 0.45); // smaller
+            int shineH = (int)(spriteH * 0.45); // smaller
+            int shineX = spriteX + (spriteW - shineW) / 2;
+            int shineY = spriteY + (int)(spriteH * 0.52) - (shineH / 2); // still under body, but more up
+            drawScaled(g2dSprite, shineImg, shineX, shineY, shineW, shineH, shineQuality);
+        }
+        AssetManager.Sprite playerSprite = clipSprite(s.playerClip, s.playerFrame);
+        if (playerSprite != null) {
+            drawScaled(g2dSprite, playerSprite, spriteX, spriteY, spriteW, spriteH, spriteQuality);
+        } else {
+            g2dSprite.setColor(Color.CYAN);
+            g2dSprite.fillRect(s.playerX, drawPlayerY, s.playerW, s.playerH);
+        }
+        // No white overlay, shine is now image-based
+        g2dSprite.dispose();
+        lap = profiler.lap(FrameProfiler.Stage.PLAYER, lap);
+        // Draw obstacles: bush (ground), animated bird (floating), or moving obstacle (crystal)
+        for (int i = 0; i < s.entityCount; i++) {
+            if (!EntityStore.isObstacle(s.type[i])) continue;
+            int drawObsX = (int)Math.round(lerpLeftward(s.prevX[i], s.x[i]));
+            int obsY = s.y[i], obsW = s.w[i], obsH = s.h[i];
+            if (s.type[i] == EntityStore.OBS_MOVING) {
+                // Use a different image for moving obstacle, e.g., images/ground.png as a placeholder (replace as needed)
+                drawScaled(g, groundObsImg, drawObsX, obsY, obsW, obsH, nearest);
+            } else if (s.type[i] == EntityStore.OBS_GROUND) {
+                drawScaled(g, bushImg, drawObsX, obsY, obsW, obsH, nearest);
+            } else {
+                // Draw the bird scaled up to 1.5x the obstacle box (1x on low quality tiers), but
+                // keep collision the same; fall back to the static bird.png without the sprite sheet
+                int scaleW = (int)(obsW * tier.birdScale);
+                int scaleH = (int)(obsH * tier.birdScale);
+                int drawX = drawObsX + (obsW - scaleW) / 2;
+                int drawY = obsY + (obsH - scaleH) / 2;
+                AssetManager.Sprite birdSprite = clipSprite(s.clip[i], s.frame[i]);
+                if (birdSprite != null) {
+                    drawScaled(g, birdSprite, drawX, drawY, scaleW, scaleH, nearest);
+                } else {
+                    drawScaled(g, birdImg, drawX, drawY, scaleW, scaleH, nearest);
+                }
+            }
+        }
+        lap = profiler.lap(FrameProfiler.Stage.OBSTACLES, lap);
+        // HUD (s.score box, s.health box, level-up banner) is a cached layer, redrawn only on change
+        hud.draw(g, LOGICAL_W, LOGICAL_H, s.score, s.level, s.health, s.fishCollected, s.fishNeeded, s.speedMultiplier,
+                s.bannerVisible);
+        // Game over popup is now handled by dialog
+        return profiler.lap(FrameProfiler.Stage.HUD, lap);
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        // Stamped now; the tick whose span contains the stamp applies it, at the press's
+        // sub-tick position (JumpInput)
+        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+            jumpInput.press(System.nanoTime());
+        } else if (e.getKeyCode() == KeyEvent.VK_F3) {
+            profileOverlay = !profileOverlay;
+            profileExport = true;
+        }
+        // R to restart is now handled by dialog only
+    }
+    @Override public void keyReleased(KeyEvent e) {}
+    @Override public void keyTyped(KeyEvent e) {}
+}
@@ -0,0 +1,117 @@
+package pawjump;
+
+import java.util.Locale;
+
+// Adaptive render quality. Every frame reports how long its drawing took (ticks run on the
+// simulation thread and do not count); each window of frames is judged against the frame
+// budget (the display's refresh period), and the governor steps one tier down when the
+// window's 90th percentile misses the budget, or back up after several windows in a row with
+// plenty of headroom. Stepping down is immediate, stepping up is slow and waits out a
+// cool-down, so a tier that only just fits does not flap. -Dpawjump.quality=high|medium|low|
+// minimal pins a tier instead of "auto". Transitions are shown on screen for a moment, and
+// with -Dpawjump.profile=true also printed to standard output.
+final class QualityGovernor {
+    // What each tier turns off, cheapest savings first
+    enum Tier {
+        HIGH(true, true, true, 1.5, 1),
+        MEDIUM(false, true, true, 1.5, 1),
+        LOW(false, false, false, 1.0, 1),
+        MINIMAL(false, false, false, 1.0, 2);
+
+        final boolean bilinearShine;   // filtered shine sprite (else nearest neighbour)
+        final boolean translucentHud;  // alpha-blended HUD boxes (else opaque)
+        final boolean parallax;        // scrolling background (else a static one, one blit)
+        final double birdScale;        // drawn size of the bird relative to its hitbox
+        final int resolutionDivisor;   // internal resolution = configured / divisor
+
+        Tier(boolean bilinearShine, boolean translucentHud, boolean parallax, double birdScale, int resolutionDivisor) {
+            this.bilinearShine = bilinearShine;
+            this.translucentHud = translucentHud;
+            this.parallax = parallax;
+            this.birdScale = birdScale;
+            this.resolutionDivisor = resolutionDivisor;
+        }
+    }
+
+    private static final int WINDOW_FRAMES = 90;
+    private static final double MISS_FRACTION = 0.85;     // p90 above this share of the budget steps down
+    private static final double HEADROOM_FRACTION = 0.45; // p90 below this share counts towards stepping up
+    private static final int HEADROOM_WINDOWS = 4;
+    private static final int COOLDOWN_WINDOWS = 6;        // after stepping down, before stepping up again
+    private static final long NOTICE_NANOS = 2_000_000_000L;
+    private static final boolean PRINT_TRANSITIONS = Boolean.getBoolean("pawjump.profile");
+
+    private final boolean adaptive;
+    private final long budgetNanos;
+    private final LogLinearHistogram window = new LogLinearHistogram();
+    private Tier tier;
+    private int headroomWindows = 0, cooldownWindows = 0;
+    private long changedAt = Long.MIN_VALUE;
+    private String lastTransition = "none";
+
+    QualityGovernor(String mode, long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        Tier pinned = null;
+        for (Tier t : Tier.values()) {
+            if (t.name().equalsIgnoreCase(mode)) pinned = t;
+        }
+        adaptive = pinned == null;
+        tier = pinned != null ? pinned : Tier.HIGH;
+    }
+
+    Tier tier() {
+        return tier;
+    }
+
+    boolean adaptive() {
+        return adaptive;
+    }
+
+    String lastTransition() {
+        return lastTransition;
+    }
+
+    // Whether a transition happened within the last couple of seconds (for the on-screen notice)
+    boolean recentlyChanged(long now) {
+        return changedAt != Long.MIN_VALUE && now - changedAt < NOTICE_NANOS;
+    }
+
+    // Report one frame's work; returns true when the tier changed
+    boolean frame(long workNanos) {
+        if (!adaptive) return false;
+        window.record(workNanos);
+        if (window.count() < WINDOW_FRAMES) return false;
+        long p90 = window.percentile(0.9);
+        window.reset();
+        if (cooldownWindows > 0) cooldownWindows--;
+        if (p90 > budgetNanos * MISS_FRACTION && tier.ordinal() < Tier.values().length - 1) {
+            headroomWindows = 0;
+            cooldownWindows = COOLDOWN_WINDOWS;
+            return change(Tier.values()[tier.ordinal() + 1], p90);
+        }
+        if (p90 < budgetNanos * HEADROOM_FRACTION && tier.ordinal() > 0 && cooldownWindows == 0) {
+            if (++headroomWindows >= HEADROOM_WINDOWS) {
+                headroomWindows = 0;
+                return change(Tier.values()[tier.ordinal() - 1], p90);
+            }
+        } else {
+            headroomWindows = 0;
+        }
+        return false;
+    }
+
+    // Start a fresh window (a new run); the tier carries over, the machine has not changed
+    void reset() {
+        window.reset();
+        headroomWindows = cooldownWindows = 0;
+    }
+
+    private boolean change(Tier next, long p90) {
+        lastTransition = String.format(Locale.ROOT, "%s -> %s (p90 %.1f of %.1f ms)",
+                tier, next, p90 / 1e6, budgetNanos / 1e6);
+        if (PRINT_TRANSITIONS) System.out.println("quality: " + lastTransition);
+        tier = next;
+        changedAt = System.nanoTime();
+        return true;
+    }
+}
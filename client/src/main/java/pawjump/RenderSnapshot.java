@@ -0,0 +1,86 @@
+package pawjump;
+
+// Everything a frame needs from one simulation tick: player and world positions (with the
+// previous tick's, for interpolation), animation clips with the frames they are on (looked up
+// here from their start ticks, see AnimationClip), the live obstacles and items, and
+// the HUD values. The simulation thread fills one after every tick and publishes it through
+// a TripleBuffer; once published it is never written again until the render side has let
+// go of it, so the renderer reads it without locks. Instances are preallocated and reused:
+// the entity arrays only grow when more entities are alive at once than ever before.
+final class RenderSnapshot {
+    long seq;            // publish count, so the reader can tell a new snapshot from the last one
+    long simClockNanos;  // real time this state corresponds to (the end of its tick)
+
+    // Player
+    int playerX, playerY, prevPlayerY, playerW, playerH;
+    boolean meatEffectActive, suplemenShine;
+    int playerClip, playerFrame;
+
+    // World
+    double scrollX, prevScrollX;
+    boolean isDay;
+
+    // Live obstacles and items, packed in store order
+    int entityCount;
+    byte[] type = new byte[0];
+    double[] x = new double[0], prevX = new double[0];
+    int[] y = new int[0], w = new int[0], h = new int[0], clip = new int[0], frame = new int[0];
+
+    // HUD
+    int score, level, health, maxHealth, fishCollected, fishNeeded;
+    double speedMultiplier;
+    boolean bannerVisible;
+
+    // Loop telemetry for the render-side profiler: work of the tick that produced this
+    // snapshot, and running totals of dropped ticks and jumps (with the latest jump's press)
+    long updateNanos, droppedTicks, jumps, lastJumpNanos;
+
+    void copyFrom(GameSimulation s, double prevScrollX, int prevPlayerY) {
+        playerX = s.playerX;
+        playerY = s.playerY;
+        this.prevPlayerY = prevPlayerY;
+        playerW = s.playerW;
+        playerH = s.playerH;
+        meatEffectActive = s.meatEffectActive;
+        suplemenShine = s.suplemenEffectActive && !s.suplemenEffectUsed;
+        playerClip = s.playerClip();
+        playerFrame = AnimationClip.frame(playerClip, s.playerClipStart(), s.tick);
+        scrollX = s.scrollX;
+        this.prevScrollX = prevScrollX;
+        isDay = s.isDay;
+        EntityStore e = s.entities;
+        if (type.length < e.capacity()) {
+            int n = e.capacity();
+            type = new byte[n];
+            x = new double[n];
+            prevX = new double[n];
+            y = new int[n];
+            w = new int[n];
+            h = new int[n];
+            clip = new int[n];
+            frame = new int[n];
+        }
+        int n = 0;
+        for (int i = 0, end = e.end(); i < end; i++) {
+            if (!e.active[i]) continue;
+            type[n] = e.type[i];
+            x[n] = e.x[i];
+            prevX[n] = e.prevX[i];
+            y[n] = e.y[i];
+            w[n] = e.w[i];
+            h[n] = e.h[i];
+            clip[n] = e.clip[i];
+            frame[n] = AnimationClip.frame(e.clip[i], e.clipStart[i], s.tick);
+            n++;
+        }
+        entityCount = n;
+        score = s.score;
+        level = s.currentLevel;
+        health = s.health;
+        maxHealth = s.maxHealth;
+        fishCollected = s.fishCollected;
+        fishNeeded = s.fishNeeded;
+        speedMultiplier = s.speedMultiplier;
+        bannerVisible = s.isLevelUpBannerVisible();
+    }
+}
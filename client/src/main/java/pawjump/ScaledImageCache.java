@@ -0,0 +1,103 @@
+package pawjump;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache of pre-scaled image variants, so every draw is a 1:1 blit.
+// Keyed by (source image or atlas frame, target size, interpolation). Known sizes are built
+// up front by AssetManager.prewarm(), anything else is scaled on first use; least recently used
+// variants are evicted once the bound is reached.
+final class ScaledImageCache {
+    enum Quality {
+        NEAREST(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+        BILINEAR(RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        final Object hint;
+        Quality(Object hint) { this.hint = hint; }
+    }
+
+    private static final int MAX_ENTRIES = 160;
+
+    private static final class Key {
+        Object source; // AssetManager.Sprite or Image, compared by identity
+        int w, h;
+        Quality quality;
+
+        Key set(Object source, int w, int h, Quality quality) {
+            this.source = source;
+            this.w = w;
+            this.h = h;
+            this.quality = quality;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return source == k.source && w == k.w && h == k.h && quality == k.quality;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((System.identityHashCode(source) * 31 + w) * 31 + h) * 31 + quality.ordinal();
+        }
+    }
+
+    private final LinkedHashMap<Key, BufferedImage> variants = new LinkedHashMap<Key, BufferedImage>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Reused for lookups so a cache hit allocates nothing
+    private final Key probe = new Key();
+
+    private static final class Holder {
+        static final ScaledImageCache INSTANCE = new ScaledImageCache();
+    }
+
+    static ScaledImageCache get() {
+        return Holder.INSTANCE;
+    }
+
+    synchronized BufferedImage get(AssetManager.Sprite sprite, int w, int h, Quality quality) {
+        BufferedImage img = variants.get(probe.set(sprite, w, h, quality));
+        if (img == null) {
+            img = scale(sprite.image, sprite.x, sprite.y, sprite.w, sprite.h, w, h, quality, Transparency.TRANSLUCENT);
+            variants.put(new Key().set(sprite, w, h, quality), img);
+        }
+        return img;
+    }
+
+    synchronized BufferedImage get(BufferedImage source, int w, int h, Quality quality) {
+        BufferedImage img = variants.get(probe.set(source, w, h, quality));
+        if (img == null) {
+            img = scale(source, 0, 0, source.getWidth(), source.getHeight(), w, h, quality,
+                    source.getColorModel().getTransparency());
+            variants.put(new Key().set(source, w, h, quality), img);
+        }
+        return img;
+    }
+
+    // Adopt a variant built elsewhere (loaded from SpriteDiskCache)
+    synchronized void put(AssetManager.Sprite sprite, int w, int h, Quality quality, BufferedImage img) {
+        variants.put(new Key().set(sprite, w, h, quality), img);
+    }
+
+    synchronized void put(BufferedImage source, int w, int h, Quality quality, BufferedImage img) {
+        variants.put(new Key().set(source, w, h, quality), img);
+    }
+
+    private static BufferedImage scale(Image src, int sx, int sy, int sw, int sh, int w, int h, Quality quality, int transparency) {
+        BufferedImage dst = AssetManager.createCompatible(Math.max(1, w), Math.max(1, h), transparency);
+        Graphics2D g2 = dst.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, quality.hint);
+        g2.drawImage(src, 0, 0, w, h, sx, sy, sx + sw, sy + sh, null);
+        g2.dispose();
+        return dst;
+    }
+}
@@ -0,0 +1,232 @@
+package pawjump;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.WritableRaster;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+// On-disk cache of decoded images (cache/sprites.bin): every source PNG and every pre-scaled
+// variant, stored as raw pixels in the display's compatible format, so a warm start skips PNG
+// decoding and scaling entirely. Entries are keyed by name (see AssetManager) and the file
+// records the size, modification time and CRC-32 of each source it was built from; any
+// mismatch, a different pixel format or a version change makes the whole file a miss.
+// Disable with -Dpawjump.spriteCache=false.
+//
+// File layout: magic "PJIC", version, header length, then the header (sources: name, size,
+// mtime, crc; entries: key, width, height, transparency, image type, pixel offset) and the
+// pixel data, one little-endian int per pixel, row by row (the byte order of the machines we
+// run on, so loading is a plain copy). The pixel data is read into memory in one bulk read
+// and the file closed again, so nothing holds it open or mapped when writeTo() replaces it
+// (Windows refuses to rename over a mapped file).
+final class SpriteDiskCache {
+    static final String CACHE_FILE = "cache/sprites.bin";
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("pawjump.spriteCache", "true"));
+    private static final int MAGIC = 0x504A4943; // "PJIC"
+    private static final int VERSION = 1;
+
+    private static final class Source {
+        final String name;
+        final long size, mtime, crc;
+
+        Source(String name, long size, long mtime, long crc) {
+            this.name = name;
+            this.size = size;
+            this.mtime = mtime;
+            this.crc = crc;
+        }
+    }
+
+    private static final class Entry {
+        final int w, h, transparency, type;
+        final long offset; // into the pixel data, in ints
+
+        Entry(int w, int h, int transparency, int type, long offset) {
+            this.w = w;
+            this.h = h;
+            this.transparency = transparency;
+            this.type = type;
+            this.offset = offset;
+        }
+    }
+
+    private final List<Source> sources;
+    private final Map<String, Entry> entries;
+    private final IntBuffer pixels; // heap copy of the pixel data, null when nothing was loaded
+    // Images for writeTo(): everything looked up or added during this run, in order
+    private final Map<String, BufferedImage> images = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean dirty;
+
+    private SpriteDiskCache(List<Source> sources, Map<String, Entry> entries, IntBuffer pixels, boolean dirty) {
+        this.sources = sources;
+        this.entries = entries;
+        this.pixels = pixels;
+        this.dirty = dirty;
+    }
+
+    // Open the cache for the given source files; a missing, stale or unreadable file gives an
+    // empty cache that writeTo() rebuilds
+    static SpriteDiskCache open(File file, File sourceDir, Collection<String> sourceNames) {
+        List<Source> current = new ArrayList<>();
+        for (String name : sourceNames) {
+            File f = new File(sourceDir, name);
+            current.add(new Source(name, f.isFile() ? f.length() : -1, f.lastModified(), 0));
+        }
+        try {
+            if (file.isFile()) return read(file, sourceDir, current);
+        } catch (IOException | RuntimeException ignored) {}
+        return miss(current, sourceDir);
+    }
+
+    private static SpriteDiskCache read(File file, File sourceDir, List<Source> current) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(java.nio.channels.Channels.newInputStream(ch)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return miss(current, sourceDir);
+            int headerLength = in.readInt();
+            byte[] header = new byte[headerLength];
+            in.readFully(header);
+            DataInputStream h = new DataInputStream(new ByteArrayInputStream(header));
+            int sourceCount = h.readInt();
+            if (sourceCount != current.size()) return miss(current, sourceDir);
+            List<Source> stored = new ArrayList<>();
+            boolean touched = false;
+            for (int i = 0; i < sourceCount; i++) {
+                Source s = new Source(h.readUTF(), h.readLong(), h.readLong(), h.readLong());
+                Source c = current.get(i);
+                if (!s.name.equals(c.name) || s.size != c.size) return miss(current, sourceDir);
+                // A touched but unchanged file still matches by content; rewrite with its new time
+                if (s.mtime != c.mtime) {
+                    if (s.crc != crc(new File(sourceDir, c.name))) return miss(current, sourceDir);
+                    touched = true;
+                }
+                stored.add(new Source(s.name, s.size, c.mtime, s.crc));
+            }
+            int entryCount = h.readInt();
+            Map<String, Entry> entries = new ConcurrentHashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                entries.put(h.readUTF(), new Entry(h.readInt(), h.readInt(), h.readInt(), h.readInt(), h.readLong()));
+            }
+            long dataStart = 12L + headerLength;
+            long dataLength = ch.size() - dataStart;
+            if (dataLength < 0 || dataLength > Integer.MAX_VALUE) return miss(current, sourceDir);
+            ByteBuffer data = ByteBuffer.allocate((int) dataLength);
+            ch.position(dataStart);
+            while (data.hasRemaining()) {
+                if (ch.read(data) < 0) return miss(current, sourceDir); // truncated file
+            }
+            data.flip();
+            return new SpriteDiskCache(stored, entries, data.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(), touched);
+        }
+    }
+
+    private static SpriteDiskCache miss(List<Source> current, File sourceDir) {
+        return new SpriteDiskCache(withChecksums(current, sourceDir), new ConcurrentHashMap<>(), null, true);
+    }
+
+    private static List<Source> withChecksums(List<Source> sources, File sourceDir) {
+        List<Source> out = new ArrayList<>();
+        for (Source s : sources) out.add(new Source(s.name, s.size, s.mtime, crc(new File(sourceDir, s.name))));
+        return out;
+    }
+
+    private static long crc(File f) {
+        if (!f.isFile()) return 0;
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(f.toPath()));
+            return crc.getValue();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // The cached image for key, or null on a miss (an entry whose format no longer matches
+    // the display counts as a miss)
+    BufferedImage image(String key) {
+        Entry e = entries.get(key);
+        if (e == null || pixels == null) return null;
+        BufferedImage img = AssetManager.createCompatible(e.w, e.h, e.transparency);
+        WritableRaster raster = img.getRaster();
+        if (img.getType() != e.type || raster.getTransferType() != DataBuffer.TYPE_INT || raster.getNumDataElements() != 1) {
+            return null;
+        }
+        // One bulk copy out of the pixel data, then setDataElements, which (unlike writing the
+        // raster's array directly) keeps the image eligible for acceleration
+        int[] data = new int[e.w * e.h];
+        IntBuffer src = pixels.duplicate();
+        src.position((int) e.offset);
+        src.get(data);
+        raster.setDataElements(0, 0, e.w, e.h, data);
+        images.put(key, img);
+        return img;
+    }
+
+    // Remember an image built this run, so writeTo() includes it
+    void add(String key, BufferedImage img) {
+        if (img == null) return;
+        images.put(key, img);
+        dirty = true;
+    }
+
+    // Whether the file on disk is missing something this run used
+    boolean dirty() {
+        return dirty;
+    }
+
+    // Writes the whole cache; run on a background thread (see PersistenceService.writeFile)
+    void writeTo(OutputStream os) throws IOException {
+        List<Map.Entry<String, BufferedImage>> list;
+        synchronized (images) {
+            list = new ArrayList<>(images.entrySet());
+        }
+        // Only int-per-pixel images can be stored
+        list.removeIf(en -> en.getValue().getRaster().getTransferType() != DataBuffer.TYPE_INT
+                || en.getValue().getRaster().getNumDataElements() != 1);
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(headerBytes);
+        h.writeInt(sources.size());
+        for (Source s : sources) {
+            h.writeUTF(s.name);
+            h.writeLong(s.size);
+            h.writeLong(s.mtime);
+            h.writeLong(s.crc);
+        }
+        h.writeInt(list.size());
+        long offset = 0;
+        for (Map.Entry<String, BufferedImage> en : list) {
+            BufferedImage img = en.getValue();
+            h.writeUTF(en.getKey());
+            h.writeInt(img.getWidth());
+            h.writeInt(img.getHeight());
+            h.writeInt(img.getColorModel().getTransparency());
+            h.writeInt(img.getType());
+            h.writeLong(offset);
+            offset += (long) img.getWidth() * img.getHeight();
+        }
+        h.flush();
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(headerBytes.size());
+        headerBytes.writeTo(out);
+        for (Map.Entry<String, BufferedImage> en : list) {
+            BufferedImage img = en.getValue();
+            int[] row = new int[img.getWidth()];
+            ByteBuffer rowBytes = ByteBuffer.allocate(row.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            for (int y = 0; y < img.getHeight(); y++) {
+                img.getRaster().getDataElements(0, y, img.getWidth(), 1, row);
+                rowBytes.asIntBuffer().put(row);
+                out.write(rowBytes.array());
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,41 @@
+package pawjump;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Lock-free handoff of the latest value from one writer thread to one reader thread, over
+// three preallocated slots. The writer fills its back slot and publish() swaps it with the
+// shared middle slot; the reader's acquire() swaps the middle slot into its front slot when
+// something new was published. Both sides only ever exchange an index, so neither waits for
+// the other, a slow reader simply skips values and nothing is allocated after construction.
+final class TripleBuffer<T> {
+    private static final int INDEX = 3, FRESH = 4; // middle slot index, plus "published since read"
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+    private int back = 0;  // writer's slot
+    private int front = 1; // reader's slot
+
+    TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) slots[i] = factory.get();
+    }
+
+    // Writer: the slot to fill before the next publish()
+    @SuppressWarnings("unchecked")
+    T back() {
+        return (T) slots[back];
+    }
+
+    // Writer: make the back slot the latest value and take another slot to fill next
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // Reader: the latest published value (the same one again when nothing new came). It stays
+    // untouched by the writer until the next acquire().
+    @SuppressWarnings("unchecked")
+    T acquire() {
+        if ((middle.get() & FRESH) != 0) front = middle.getAndSet(front) & INDEX;
+        return (T) slots[front];
+    }
+}
@@ -0,0 +1,116 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class InputQueueTest {
+    @Test
+    void pressesComeOutInOrderUpToTheGivenTime() {
+        InputQueue q = new InputQueue(8);
+        assertFalse(q.hasBefore(Long.MAX_VALUE));
+        assertTrue(q.offer(InputQueue.JUMP, 100));
+        assertTrue(q.offer(2, 200));
+        assertTrue(q.offer(InputQueue.JUMP, 300));
+        // Strictly before: a press stamped exactly at the time belongs to what comes after
+        assertFalse(q.hasBefore(100));
+        assertTrue(q.hasBefore(101));
+        assertEquals(InputQueue.JUMP, q.peekCode());
+        assertEquals(100, q.peekStamp());
+        q.remove();
+        assertFalse(q.hasBefore(200));
+        assertTrue(q.hasBefore(250));
+        assertEquals(2, q.peekCode());
+        assertEquals(200, q.peekStamp());
+        q.remove();
+        assertEquals(300, q.peekStamp());
+        q.remove();
+        assertFalse(q.hasBefore(Long.MAX_VALUE));
+    }
+
+    @Test
+    void fullQueueDropsNewPresses() {
+        InputQueue q = new InputQueue(3); // rounded up to 4
+        for (int i = 0; i < 4; i++) assertTrue(q.offer(InputQueue.JUMP, i));
+        assertFalse(q.offer(InputQueue.JUMP, 4));
+        // The oldest presses are kept
+        assertEquals(0, q.peekStamp());
+        q.remove();
+        assertTrue(q.offer(InputQueue.JUMP, 5));
+        long[] expected = { 1, 2, 3, 5 };
+        for (long stamp : expected) {
+            assertTrue(q.hasBefore(Long.MAX_VALUE));
+            assertEquals(stamp, q.peekStamp());
+            q.remove();
+        }
+        assertFalse(q.hasBefore(Long.MAX_VALUE));
+    }
+
+    @Test
+    void wrapsAroundTheRingManyTimes() {
+        InputQueue q = new InputQueue(4);
+        long next = 0;
+        for (long stamp = 0; stamp < 1000; stamp++) {
+            assertTrue(q.offer(InputQueue.JUMP, stamp));
+            if (stamp % 3 == 2) {
+                while (q.hasBefore(Long.MAX_VALUE)) {
+                    assertEquals(next++, q.peekStamp());
+                    q.remove();
+                }
+            }
+        }
+        while (q.hasBefore(Long.MAX_VALUE)) {
+            assertEquals(next++, q.peekStamp());
+            q.remove();
+        }
+        assertEquals(1000, next);
+    }
+
+    @Test
+    void stampsAreComparedAcrossNanoTimeWraparound() {
+        InputQueue q = new InputQueue(4);
+        q.offer(InputQueue.JUMP, Long.MAX_VALUE - 5);
+        assertTrue(q.hasBefore(Long.MIN_VALUE + 5));
+        assertFalse(q.hasBefore(Long.MAX_VALUE - 10));
+    }
+
+    @Test
+    void clearDropsEverythingQueued() {
+        InputQueue q = new InputQueue(4);
+        q.offer(InputQueue.JUMP, 1);
+        q.offer(InputQueue.JUMP, 2);
+        q.clear();
+        assertFalse(q.hasBefore(Long.MAX_VALUE));
+        assertTrue(q.offer(InputQueue.JUMP, 3));
+        assertEquals(3, q.peekStamp());
+    }
+
+    @Test
+    void oneProducerOneConsumerLoseAndReorderNothing() throws InterruptedException {
+        InputQueue q = new InputQueue(16);
+        int n = 50_000;
+        // Both sides yield rather than spin, so this also finishes on a single core
+        Thread producer = new Thread(() -> {
+            for (long stamp = 0; stamp < n; stamp++) {
+                while (!q.offer((int) (stamp & 7), stamp)) Thread.yield();
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+        long expected = 0;
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (expected < n && System.nanoTime() < deadline) {
+            if (!q.hasBefore(Long.MAX_VALUE)) {
+                Thread.yield();
+                continue;
+            }
+            // Code and stamp were written together before the press was published
+            assertEquals(expected, q.peekStamp());
+            assertEquals((int) (expected & 7), q.peekCode());
+            q.remove();
+            expected++;
+        }
+        assertEquals(n, expected);
+        producer.join();
+    }
+}
@@ -0,0 +1,105 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class JumpInputTest {
+    private static final long MS = 1_000_000L;
+    private static final long TICK = 16 * MS;
+    private static final long BUFFER = 120 * MS;
+    private static final long T0 = 5_000 * MS; // arbitrary start of real time
+
+    private final GameSimulation sim = new GameSimulation(GameRules.DEFAULT, 1L);
+    private final JumpInput jump = new JumpInput(TICK, BUFFER);
+    private final InputFrame input = new InputFrame();
+
+    // Fill the tick starting at tickStart; returns the jump lag, or -1 for no jump
+    private int fill(long tickStart) {
+        input.clear();
+        boolean jumped = jump.fill(sim, tickStart, input);
+        assertEquals(jumped, input.jump);
+        return jumped ? input.jumpLag : -1;
+    }
+
+    @Test
+    void pressJumpsInItsOwnTickWithItsSubTickPosition() {
+        jump.press(T0 + 4 * MS); // a quarter into the tick
+        assertEquals(4, fill(T0));
+        assertEquals(T0 + 4 * MS, jump.appliedStamp());
+        // Used once
+        assertEquals(-1, fill(T0 + TICK));
+    }
+
+    @Test
+    void subTickLagCoversTheWholeTick() {
+        jump.press(T0);
+        assertEquals(0, fill(T0));
+        jump.press(T0 + 2 * TICK - 1); // last nanosecond of the tick
+        assertEquals(InputFrame.SUB_TICKS - 1, fill(T0 + TICK));
+    }
+
+    @Test
+    void pressAfterTheTickWaitsForTheNextOne() {
+        jump.press(T0 + TICK + 8 * MS);
+        assertEquals(-1, fill(T0));
+        assertEquals(8, fill(T0 + TICK));
+    }
+
+    @Test
+    void pressInTheAirIsBufferedUntilLanding() {
+        sim.jumping = true;
+        jump.press(T0 + 3 * MS);
+        assertEquals(-1, fill(T0));
+        assertEquals(-1, fill(T0 + TICK));
+        sim.jumping = false;
+        // A buffered press jumps from the start of the landing tick
+        assertEquals(0, fill(T0 + 2 * TICK));
+        assertEquals(T0 + 2 * TICK, jump.appliedStamp());
+    }
+
+    @Test
+    void bufferedPressExpiresAfterTheWindow() {
+        sim.jumping = true;
+        jump.press(T0);
+        long t = T0;
+        while (t - T0 <= BUFFER) {
+            assertEquals(-1, fill(t));
+            t += TICK;
+        }
+        sim.jumping = false;
+        assertEquals(-1, fill(t));
+    }
+
+    @Test
+    void newerPressRestartsTheBuffer() {
+        sim.jumping = true;
+        jump.press(T0);
+        long t = T0;
+        for (int i = 0; i < 6; i++, t += TICK) assertEquals(-1, fill(t));
+        jump.press(t + MS); // 97 ms after the first press
+        for (int i = 0; i < 3; i++, t += TICK) assertEquals(-1, fill(t));
+        sim.jumping = false;
+        // 144 ms after the first press, 47 after the second
+        assertEquals(0, fill(t));
+    }
+
+    @Test
+    void noJumpWhileTheRunIsOver() {
+        sim.running = false;
+        jump.press(T0);
+        assertEquals(-1, fill(T0));
+    }
+
+    @Test
+    void resetForgetsHeldAndQueuedPresses() {
+        sim.jumping = true;
+        jump.press(T0);
+        assertEquals(-1, fill(T0));
+        jump.press(T0 + TICK + MS);
+        jump.reset();
+        sim.jumping = false;
+        assertEquals(-1, fill(T0 + TICK));
+        assertEquals(-1, fill(T0 + 2 * TICK));
+    }
+}
@@ -0,0 +1,83 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class TripleBufferTest {
+    @Test
+    void readerSeesNothingNewUntilAPublish() {
+        TripleBuffer<long[]> b = new TripleBuffer<>(() -> new long[1]);
+        long[] first = b.acquire();
+        assertSame(first, b.acquire());
+        b.back()[0] = 7;
+        assertSame(first, b.acquire()); // filled but not published yet
+        b.publish();
+        long[] latest = b.acquire();
+        assertEquals(7, latest[0]);
+        assertSame(latest, b.acquire());
+    }
+
+    @Test
+    void readerAlwaysGetsTheLatestPublishAndNeverTheWritersSlot() {
+        TripleBuffer<long[]> b = new TripleBuffer<>(() -> new long[1]);
+        SplittableRandom r = new SplittableRandom(17);
+        long published = 0, next = 1;
+        long[] front = b.acquire();
+        for (int i = 0; i < 100_000; i++) {
+            if (r.nextBoolean()) {
+                // Writer: fill its slot and publish it
+                long[] back = b.back();
+                assertNotSame(front, back, "writer handed the reader's slot");
+                back[0] = next;
+                b.publish();
+                published = next++;
+            } else {
+                front = b.acquire();
+                assertEquals(published, front[0]);
+                assertNotSame(front, b.back(), "reader handed the writer's slot");
+            }
+        }
+    }
+
+    @Test
+    void slowReaderSkipsToTheNewest() {
+        TripleBuffer<long[]> b = new TripleBuffer<>(() -> new long[1]);
+        for (long v = 1; v <= 10; v++) {
+            b.back()[0] = v;
+            b.publish();
+        }
+        assertEquals(10, b.acquire()[0]);
+    }
+
+    @Test
+    void writerAndReaderThreadsNeverShareASlot() throws InterruptedException {
+        // Each value fills the whole slot; a slot the writer was still filling would show
+        // mixed values, and the reader must never go back in time
+        TripleBuffer<long[]> b = new TripleBuffer<>(() -> new long[64]);
+        int n = 50_000;
+        Thread writer = new Thread(() -> {
+            for (long v = 1; v <= n; v++) {
+                long[] slot = b.back();
+                for (int i = 0; i < slot.length; i++) slot[i] = v;
+                b.publish();
+                if ((v & 63) == 0) Thread.yield();
+            }
+        });
+        writer.setDaemon(true);
+        writer.start();
+        long last = 0;
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (last < n && System.nanoTime() < deadline) {
+            long[] slot = b.acquire();
+            long v = slot[0];
+            for (int i = 1; i < slot.length; i++) assertEquals(v, slot[i], "torn slot");
+            assertTrue(v >= last, v + " after " + last);
+            last = v;
+            Thread.yield();
+        }
+        assertEquals(n, last);
+        writer.join();
+    }
+}
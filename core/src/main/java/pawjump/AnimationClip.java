@@ -0,0 +1,93 @@
+package pawjump;
+
+// Shared, immutable sprite animation definitions. A clip names its sprite sheet, the sheet
+// frames it shows in order (frame handles, indices into the sheet), how many ticks each one
+// stays up and what happens after the last one: LOOP starts over, ONCE ends (no frame), and
+// HOLD_LAST stays on the last frame.
+//
+// Whatever plays a clip stores only the clip id and the tick it started; the frame is looked
+// up from the elapsed ticks when someone needs it (the renderer), so nothing is advanced per
+// tick or per entity. Each clip keeps the frame for every tick of one pass, which makes a
+// lookup one table read that allocates nothing.
+final class AnimationClip {
+    enum Mode { LOOP, ONCE, HOLD_LAST }
+
+    static final int NO_CLIP = -1, NO_FRAME = -1;
+    // Clip ids, the index into CLIPS
+    static final int WALK = 0, HURT = 1, ATTACK = 2, DEATH = 3, BIRD = 4;
+    private static final AnimationClip[] CLIPS = {
+            uniform("WALK", 6, 3, Mode.LOOP),        // lower ticks per frame = faster
+            uniform("HURT", 2, 6, Mode.LOOP),
+            uniform("ATTACK", 4, 4, Mode.ONCE),      // one pass is the whole attack
+            uniform("DEATH", 4, 8, Mode.HOLD_LAST),  // slower, and the body stays down
+            uniform("BIRD", 6, 3, Mode.LOOP),
+    };
+
+    final String sheet; // AssetManager.SheetId name
+    final Mode mode;
+    private final int[] frameAt; // sheet frame shown on each tick of one pass
+
+    AnimationClip(String sheet, int[] frames, int[] ticks, Mode mode) {
+        if (frames.length == 0 || frames.length != ticks.length) {
+            throw new IllegalArgumentException("clip " + sheet + " needs one tick count per frame");
+        }
+        int length = 0;
+        for (int t : ticks) {
+            if (t < 1) throw new IllegalArgumentException("clip " + sheet + " has a frame shorter than a tick");
+            length += t;
+        }
+        this.sheet = sheet;
+        this.mode = mode;
+        frameAt = new int[length];
+        for (int i = 0, at = 0; i < frames.length; i++) {
+            for (int t = 0; t < ticks[i]; t++) frameAt[at++] = frames[i];
+        }
+    }
+
+    // Every frame of the sheet in order, each up for the same number of ticks
+    static AnimationClip uniform(String sheet, int frameCount, int ticksPerFrame, Mode mode) {
+        int[] frames = new int[frameCount];
+        int[] ticks = new int[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = i;
+            ticks[i] = ticksPerFrame;
+        }
+        return new AnimationClip(sheet, frames, ticks, mode);
+    }
+
+    static AnimationClip get(int clip) {
+        return CLIPS[clip];
+    }
+
+    static int count() {
+        return CLIPS.length;
+    }
+
+    // Frame of a clip started at startTick, as of tick now; NO_FRAME for NO_CLIP
+    static int frame(int clip, long startTick, long now) {
+        return clip == NO_CLIP ? NO_FRAME : CLIPS[clip].frame(now - startTick);
+    }
+
+    // Ticks in one pass
+    int length() {
+        return frameAt.length;
+    }
+
+    // Sheet frame elapsed ticks after the start; NO_FRAME once a ONCE clip is over
+    int frame(long elapsed) {
+        if (elapsed < 0) elapsed = 0;
+        if (elapsed >= frameAt.length) {
+            switch (mode) {
+                case LOOP:
+                    elapsed %= frameAt.length;
+                    break;
+                case ONCE:
+                    return NO_FRAME;
+                default:
+                    elapsed = frameAt.length - 1;
+                    break;
+            }
+        }
+        return frameAt[(int) elapsed];
+    }
+}
@@ -0,0 +1,266 @@
+package pawjump;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Monte Carlo balance runs: plays many headless sessions of the game rules in parallel with a
+// bot policy and reports distributions per rule set.
+//
+//   java -jar pawjump-client.jar --balance [runs=20000] [bot=reactive|idle|random] [threads=<cores>]
+//                                     [maxTicks=1000000] [out=report.csv|report.json] [seed=<base seed>]
+//                                     [fishNeeded=15] [phaseLength=250] [floatChance=0.3]
+//                                     [movingChance=0.2] [speedStep=0.2] [spawns="<SpawnPattern text>"]
+//
+// Rule parameters accept comma-separated lists (fishNeeded=10,15,20); every combination is run.
+// The spawn pattern is a single value that applies to every combination.
+// Session i plays with seed sessionSeed(base, i); the report names the seeds of the shortest
+// and longest runs, and session=<seed> replays a single session and prints its outcome.
+final class BalanceRunner {
+    private static final int DISTANCE_BUCKET = 50; // meters per death-distance histogram bucket
+    private static final int DISTANCE_BUCKETS = 400; // last bucket collects everything beyond
+    private static final int MAX_LEVEL_TRACKED = 100;
+
+    // Per-worker accumulator; merged once per fork/join split, so workers never share state
+    static final class Stats {
+        long runs, ticks, distanceSum, levelSum;
+        long fishQuotaFailures, healthDeaths, survived;
+        int maxDistance = -1, minDistance = Integer.MAX_VALUE;
+        long maxDistanceSeed, minDistanceSeed;
+        final long[] hitsByObstacle = new long[3];
+        final long[] distanceHistogram = new long[DISTANCE_BUCKETS];
+        final long[] levelHistogram = new long[MAX_LEVEL_TRACKED + 1];
+
+        void record(GameSimulation sim, long sessionTicks) {
+            runs++;
+            ticks += sessionTicks;
+            distanceSum += sim.score;
+            levelSum += sim.currentLevel;
+            if (sim.score > maxDistance) { maxDistance = sim.score; maxDistanceSeed = sim.seed; }
+            if (sim.score < minDistance) { minDistance = sim.score; minDistanceSeed = sim.seed; }
+            if (!sim.gameOver) survived++;
+            else if (sim.levelUpFailed) fishQuotaFailures++;
+            else healthDeaths++;
+            for (int i = 0; i < hitsByObstacle.length; i++) hitsByObstacle[i] += sim.hitsByObstacle[i];
+            distanceHistogram[Math.min(sim.score / DISTANCE_BUCKET, DISTANCE_BUCKETS - 1)]++;
+            levelHistogram[Math.min(sim.currentLevel, MAX_LEVEL_TRACKED)]++;
+        }
+
+        void merge(Stats o) {
+            runs += o.runs;
+            ticks += o.ticks;
+            distanceSum += o.distanceSum;
+            levelSum += o.levelSum;
+            fishQuotaFailures += o.fishQuotaFailures;
+            healthDeaths += o.healthDeaths;
+            survived += o.survived;
+            if (o.maxDistance > maxDistance) { maxDistance = o.maxDistance; maxDistanceSeed = o.maxDistanceSeed; }
+            if (o.minDistance < minDistance) { minDistance = o.minDistance; minDistanceSeed = o.minDistanceSeed; }
+            for (int i = 0; i < hitsByObstacle.length; i++) hitsByObstacle[i] += o.hitsByObstacle[i];
+            for (int i = 0; i < DISTANCE_BUCKETS; i++) distanceHistogram[i] += o.distanceHistogram[i];
+            for (int i = 0; i <= MAX_LEVEL_TRACKED; i++) levelHistogram[i] += o.levelHistogram[i];
+        }
+
+        // Upper edge of the histogram bucket holding the given quantile
+        int distancePercentile(double q) {
+            long target = (long) Math.ceil(q * runs), seen = 0;
+            for (int i = 0; i < DISTANCE_BUCKETS; i++) {
+                seen += distanceHistogram[i];
+                if (seen >= target && seen > 0) return (i + 1) * DISTANCE_BUCKET;
+            }
+            return DISTANCE_BUCKETS * DISTANCE_BUCKET;
+        }
+    }
+
+    static final class Result {
+        final GameRules rules;
+        final Stats stats;
+        final long elapsedNanos;
+
+        Result(GameRules rules, Stats stats, long elapsedNanos) {
+            this.rules = rules;
+            this.stats = stats;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private final int runs;
+    private final String bot;
+    private final long maxTicks;
+    private final long baseSeed;
+    private final ForkJoinPool pool;
+
+    BalanceRunner(int runs, String bot, long maxTicks, long baseSeed, int threads) {
+        BotPolicy.create(bot, 0); // fail fast on an unknown name
+        this.runs = runs;
+        this.bot = bot;
+        this.maxTicks = maxTicks;
+        this.baseSeed = baseSeed;
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    // Well-mixed, independent seed for session i of a batch (SplitMix64 finalizer)
+    static long sessionSeed(long base, int i) {
+        long z = base + (i + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Play one session to the end (or maxTicks) and record it
+    private void playSession(GameRules rules, long seed, Stats stats) {
+        GameSimulation sim = new GameSimulation(rules, seed);
+        BotPolicy policy = BotPolicy.create(bot, seed);
+        InputFrame input = new InputFrame();
+        long t = 0;
+        while (!sim.gameOver && t < maxTicks) {
+            policy.decide(sim, input);
+            sim.step(input);
+            input.clear();
+            t++;
+        }
+        stats.record(sim, t);
+    }
+
+    Result run(GameRules rules) {
+        long start = System.nanoTime();
+        // Each fork/join leaf gets its own Stats; they are merged on the way back up
+        Stats stats = pool.submit(() -> IntStream.range(0, runs).parallel()
+                .collect(Stats::new, (s, i) -> playSession(rules, sessionSeed(baseSeed, i), s), Stats::merge)).join();
+        return new Result(rules, stats, System.nanoTime() - start);
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("expected key=value, got: " + arg);
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int runs = Integer.parseInt(opts.getOrDefault("runs", "20000"));
+        String bot = opts.getOrDefault("bot", "reactive");
+        long maxTicks = Long.parseLong(opts.getOrDefault("maxTicks", "1000000"));
+        int threads = Integer.parseInt(opts.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String out = opts.get("out");
+        long baseSeed = opts.containsKey("seed") ? Long.parseLong(opts.get("seed")) : GameSimulation.newSeed();
+
+        List<GameRules> sweep = sweep(opts);
+        if (opts.containsKey("session")) {
+            replaySession(sweep.get(0), bot, maxTicks, Long.parseLong(opts.get("session")));
+            return;
+        }
+        System.err.println("Base seed: " + baseSeed);
+        BalanceRunner runner = new BalanceRunner(runs, bot, maxTicks, baseSeed, threads);
+        List<Result> results = new ArrayList<>();
+        try {
+            for (GameRules rules : sweep) {
+                Result r = runner.run(rules);
+                results.add(r);
+                System.err.printf("%s: %d runs, %.1f M ticks/s%n", rules, r.stats.runs,
+                        r.stats.ticks / (r.elapsedNanos / 1e9) / 1e6);
+            }
+        } finally {
+            runner.shutdown();
+        }
+        String report = out != null && out.endsWith(".json") ? toJson(results, bot, baseSeed) : toCsv(results, bot, baseSeed);
+        if (out == null) {
+            System.out.print(report);
+        } else {
+            try (Writer w = new BufferedWriter(new FileWriter(out))) {
+                w.write(report);
+            }
+            System.err.println("Report written to " + out);
+        }
+    }
+
+    // Play one session with an exact seed and print how it ended
+    private static void replaySession(GameRules rules, String bot, long maxTicks, long seed) {
+        BalanceRunner single = new BalanceRunner(1, bot, maxTicks, 0, 1);
+        Stats stats = new Stats();
+        single.playSession(rules, seed, stats);
+        single.shutdown();
+        String outcome = stats.survived > 0 ? "survived" : stats.fishQuotaFailures > 0 ? "fish quota failed" : "out of health";
+        System.out.printf("seed=%d %s: distance=%d m level=%d ticks=%d %s, hits ground/floating/moving=%d/%d/%d%n",
+                seed, rules, stats.maxDistance, stats.levelSum, stats.ticks, outcome,
+                stats.hitsByObstacle[GameSimulation.OBS_GROUND], stats.hitsByObstacle[GameSimulation.OBS_FLOATING],
+                stats.hitsByObstacle[GameSimulation.OBS_MOVING]);
+    }
+
+    // Cartesian product of every comma-separated rule parameter
+    private static List<GameRules> sweep(Map<String, String> opts) {
+        GameRules d = GameRules.DEFAULT;
+        SpawnPattern spawns = opts.containsKey("spawns") ? SpawnPattern.parse(opts.get("spawns")) : d.spawns;
+        List<GameRules> list = new ArrayList<>();
+        for (String fish : opts.getOrDefault("fishNeeded", String.valueOf(d.fishNeeded)).split(","))
+            for (String phase : opts.getOrDefault("phaseLength", String.valueOf(d.phaseLength)).split(","))
+                for (String fl : opts.getOrDefault("floatChance", String.valueOf(d.floatChance)).split(","))
+                    for (String mv : opts.getOrDefault("movingChance", String.valueOf(d.movingChance)).split(","))
+                        for (String sp : opts.getOrDefault("speedStep", String.valueOf(d.speedStep)).split(","))
+                            list.add(new GameRules(Integer.parseInt(fish.trim()), Integer.parseInt(phase.trim()),
+                                    Double.parseDouble(fl.trim()), Double.parseDouble(mv.trim()), Double.parseDouble(sp.trim()),
+                                    spawns));
+        return list;
+    }
+
+    private static String toCsv(List<Result> results, String bot, long baseSeed) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("fishNeeded,phaseLength,floatChance,movingChance,speedStep,bot,baseSeed,runs,meanDistance,p50Distance,p90Distance,")
+          .append("maxDistance,maxDistanceSeed,minDistance,minDistanceSeed,meanLevel,fishQuotaFailures,healthDeaths,survived,")
+          .append("hitsGround,hitsFloating,hitsMoving\n");
+        for (Result r : results) {
+            GameRules g = r.rules;
+            Stats s = r.stats;
+            sb.append(g.fishNeeded).append(',').append(g.phaseLength).append(',').append(g.floatChance).append(',')
+              .append(g.movingChance).append(',').append(g.speedStep).append(',').append(bot).append(',').append(baseSeed).append(',')
+              .append(s.runs).append(',').append(String.format(Locale.ROOT, "%.1f", s.distanceSum / (double) s.runs)).append(',')
+              .append(s.distancePercentile(0.5)).append(',').append(s.distancePercentile(0.9)).append(',')
+              .append(s.maxDistance).append(',').append(s.maxDistanceSeed).append(',')
+              .append(s.minDistance).append(',').append(s.minDistanceSeed).append(',').append(String.format(Locale.ROOT, "%.2f", s.levelSum / (double) s.runs)).append(',')
+              .append(s.fishQuotaFailures).append(',').append(s.healthDeaths).append(',').append(s.survived).append(',')
+              .append(s.hitsByObstacle[GameSimulation.OBS_GROUND]).append(',')
+              .append(s.hitsByObstacle[GameSimulation.OBS_FLOATING]).append(',')
+              .append(s.hitsByObstacle[GameSimulation.OBS_MOVING]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String toJson(List<Result> results, String bot, long baseSeed) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int n = 0; n < results.size(); n++) {
+            GameRules g = results.get(n).rules;
+            Stats s = results.get(n).stats;
+            sb.append("  {\"rules\": {\"fishNeeded\": ").append(g.fishNeeded).append(", \"phaseLength\": ").append(g.phaseLength)
+              .append(", \"floatChance\": ").append(g.floatChance).append(", \"movingChance\": ").append(g.movingChance)
+              .append(", \"speedStep\": ").append(g.speedStep).append(", \"spawns\": \"").append(g.spawns).append("\"},\n");
+            sb.append("   \"bot\": \"").append(bot).append("\", \"baseSeed\": ").append(baseSeed).append(", \"runs\": ").append(s.runs).append(", \"ticks\": ").append(s.ticks).append(",\n");
+            sb.append("   \"outcomes\": {\"fishQuotaFailures\": ").append(s.fishQuotaFailures).append(", \"healthDeaths\": ")
+              .append(s.healthDeaths).append(", \"survived\": ").append(s.survived).append("},\n");
+            sb.append("   \"hitsByObstacle\": {\"ground\": ").append(s.hitsByObstacle[GameSimulation.OBS_GROUND])
+              .append(", \"floating\": ").append(s.hitsByObstacle[GameSimulation.OBS_FLOATING])
+              .append(", \"moving\": ").append(s.hitsByObstacle[GameSimulation.OBS_MOVING]).append("},\n");
+            sb.append("   \"distance\": {\"mean\": ").append(String.format(Locale.ROOT, "%.1f", s.distanceSum / (double) s.runs))
+              .append(", \"p50\": ").append(s.distancePercentile(0.5)).append(", \"p90\": ").append(s.distancePercentile(0.9))
+              .append(", \"max\": ").append(s.maxDistance).append(", \"maxSeed\": ").append(s.maxDistanceSeed)
+              .append(", \"min\": ").append(s.minDistance).append(", \"minSeed\": ").append(s.minDistanceSeed)
+              .append(", \"bucketMeters\": ").append(DISTANCE_BUCKET)
+              .append(", \"histogram\": ").append(trimmedArray(s.distanceHistogram)).append("},\n");
+            sb.append("   \"levelReached\": ").append(trimmedArray(s.levelHistogram)).append("}");
+            sb.append(n + 1 < results.size() ? ",\n" : "\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    // Histogram as a JSON array without the trailing empty buckets
+    private static String trimmedArray(long[] values) {
+        int len = values.length;
+        while (len > 1 && values[len - 1] == 0) len--;
+        StringJoiner j = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < len; i++) j.add(Long.toString(values[i]));
+        return j.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package pawjump;
+
+import java.util.SplittableRandom;
+
+// Plays a headless GameSimulation for the balance runner: fills in the input for each tick.
+// Policies may keep state, so the runner creates one per session through create(); any
+// randomness comes from the session seed so a session replays exactly.
+interface BotPolicy {
+    void decide(GameSimulation sim, InputFrame input);
+
+    static BotPolicy create(String name, long seed) {
+        switch (name) {
+            case "reactive": return new Reactive();
+            case "idle": return (sim, input) -> input.jump = false;
+            case "random": return new RandomJumper(0.02, seed);
+            default: throw new IllegalArgumentException("unknown bot: " + name + " (reactive, idle, random)");
+        }
+    }
+
+    // Looks ahead along the fixed jump arc: jumps to clear an obstacle that would otherwise hit,
+    // or to catch a fish that is out of reach on the ground, never into an obstacle.
+    final class Reactive implements BotPolicy {
+        private static final int HORIZON = 32; // ticks; a full jump lasts 30
+        private static final int JUMP_VELOCITY = -30, GRAVITY = 2;
+
+        @Override
+        public void decide(GameSimulation sim, InputFrame input) {
+            input.jump = false;
+            if (sim.jumping || !sim.running) return;
+            boolean stayHits = obstacleHits(sim, false);
+            boolean jumpHits = obstacleHits(sim, true);
+            if (stayHits && !jumpHits) {
+                input.jump = true;
+            } else if (!jumpHits && sim.fishId != GameSimulation.NONE && !fishCaught(sim, false) && fishCaught(sim, true)) {
+                input.jump = true;
+            }
+        }
+
+        // Player top Y after k ticks, standing or jumping now
+        private static int playerYAt(GameSimulation sim, int k, boolean jump) {
+            if (!jump) return sim.playerY;
+            int y = sim.playerY, vel = JUMP_VELOCITY;
+            int floor = sim.groundY - sim.playerH;
+            for (int i = 0; i < k; i++) {
+                vel += GRAVITY;
+                y += vel;
+                if (y >= floor) return floor;
+            }
+            return y;
+        }
+
+        private static boolean obstacleHits(GameSimulation sim, boolean jump) {
+            EntityStore e = sim.entities;
+            for (int i = 0, end = e.end(); i < end; i++) {
+                if (e.active[i] && EntityStore.isObstacle(e.type[i]) && obstacleHits(sim, i, jump)) return true;
+            }
+            return false;
+        }
+
+        private static boolean obstacleHits(GameSimulation sim, int id, boolean jump) {
+            EntityStore e = sim.entities;
+            int v = (int) (sim.speed * sim.speedMultiplier);
+            double x = e.x[id];
+            int y = e.y[id], vy = e.vy[id];
+            for (int k = 1; k <= HORIZON; k++) {
+                int x0 = (int) x, y0 = y;
+                x -= sim.speed * sim.speedMultiplier;
+                if (e.type[id] == EntityStore.OBS_MOVING) {
+                    y += vy;
+                    if (y <= e.minY[id]) { y = e.minY[id]; vy = sim.obsMoveSpeed; }
+                    else if (y >= e.maxY[id]) { y = e.maxY[id]; vy = -sim.obsMoveSpeed; }
+                }
+                if (x + e.w[id] < sim.playerX - v) break;
+                // Collisions are swept over the tick, from the previous positions to the new ones
+                int py0 = playerYAt(sim, k - 1, jump), py = playerYAt(sim, k, jump);
+                if (touches(x0, y0, (int) x - x0, (y - y0) - (py - py0), e.w[id], e.h[id], sim, py0)) return true;
+            }
+            return false;
+        }
+
+        private static boolean fishCaught(GameSimulation sim, boolean jump) {
+            EntityStore e = sim.entities;
+            int id = sim.fishId;
+            int v = (int) (sim.speed * sim.speedMultiplier);
+            int x = (int) e.x[id];
+            for (int k = 1; k <= HORIZON; k++) {
+                x -= v;
+                if (x + e.w[id] < sim.playerX) break;
+                // Pickups are checked before gravity moves the player within a tick
+                int py = playerYAt(sim, k - 1, jump);
+                if (touches(x + v, e.y[id], -v, 0, e.w[id], e.h[id], sim, py)) return true;
+            }
+            return false;
+        }
+
+        // Box moving by (dx, dy) relative to the player standing at playerY
+        private static boolean touches(int x, int y, int dx, int dy, int w, int h, GameSimulation sim, int playerY) {
+            return SweptAabb.timeOfImpact(x, y, w, h, dx, dy, sim.playerX, playerY, sim.playerW, sim.playerH) != SweptAabb.NO_HIT;
+        }
+    }
+
+    // Jumps with a fixed probability per tick; a noise baseline for the other policies
+    final class RandomJumper implements BotPolicy {
+        private final double chance;
+        private final SplittableRandom random;
+
+        RandomJumper(double chance, long seed) {
+            this.chance = chance;
+            // Own stream, independent of the simulation's streams for the same seed
+            this.random = new SplittableRandom(~seed);
+        }
+
+        @Override
+        public void decide(GameSimulation sim, InputFrame input) {
+            input.jump = random.nextDouble() < chance;
+        }
+    }
+}
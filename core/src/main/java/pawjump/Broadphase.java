@@ -0,0 +1,142 @@
+package pawjump;
+
+import java.util.Arrays;
+
+// Sweep-and-prune broadphase over one class of entities (a range of EntityStore types),
+// answering "which of them touched this box during the last tick". Ids are kept sorted by left
+// edge; since every entity of a class scrolls by the same step the order barely changes between
+// ticks, so the insertion sort in update() is linear in practice. A query binary-searches the
+// first entity that can reach the box and stops at the first one starting past it, then runs
+// the swept test (SweptAabb) from each entity's previous position to its current one.
+// Contacts are written into reusable buffers ordered by time of impact, then id, and nothing
+// is allocated once the buffers have grown to size.
+final class Broadphase {
+    private final byte minType, maxType;
+    private int[] order = new int[16];   // tracked ids, sorted by x
+    private int size = 0;
+    private boolean[] tracked = new boolean[16]; // by id
+    private int maxWidth = 0;            // widest tracked entity, bounds the search to the left
+    private int maxShiftX = 0, maxShiftY = 0; // largest movement of a tracked entity last tick
+    private long seenSpawns = 0;         // EntityStore.spawnCount() at the last update
+    private int[] contacts = new int[8];
+    private double[] contactTimes = new double[8];
+    private int contactCount = 0;
+
+    Broadphase(byte minType, byte maxType) {
+        this.minType = minType;
+        this.maxType = maxType;
+    }
+
+    // Bring the sorted order up to date with the store: drop removed entities, add the ones
+    // spawned since the last update and re-sort by the current positions
+    void update(EntityStore e) {
+        int end = e.end();
+        if (tracked.length < e.capacity()) tracked = Arrays.copyOf(tracked, e.capacity());
+        int kept = 0;
+        maxWidth = maxShiftX = maxShiftY = 0;
+        for (int k = 0; k < size; k++) {
+            int id = order[k];
+            if (id < end && e.active[id] && accepts(e.type[id])) {
+                order[kept++] = id;
+                measure(e, id);
+            } else {
+                tracked[id] = false;
+            }
+        }
+        size = kept;
+        long spawns = e.spawnCount();
+        if (seenSpawns < spawns && e.spawnedId(seenSpawns) < 0) {
+            // Fell behind the spawn log: rescan every id
+            for (int id = 0; id < end; id++) track(e, id);
+        } else {
+            for (long n = seenSpawns; n < spawns; n++) track(e, e.spawnedId(n));
+        }
+        seenSpawns = spawns;
+        // Insertion sort by x: linear when the order is unchanged since the last update
+        double[] x = e.x;
+        for (int k = 1; k < size; k++) {
+            int id = order[k];
+            double key = x[id];
+            int j = k - 1;
+            while (j >= 0 && x[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+
+    // Find the tracked entities that touched the box during the last tick, while the box moved
+    // vertically from y0 to y1 and each entity from its previous position to its current one.
+    // Returns the contact count. Entity x is truncated to whole pixels, as the game has always
+    // done, so an entity that ends the tick overlapping the box is always a contact.
+    int query(EntityStore e, int qx, int qy0, int qy1, int qw, int qh) {
+        contactCount = 0;
+        double[] x = e.x;
+        // Entities whose current left edge is in [from, to) can have crossed the box
+        double from = qx - maxWidth - maxShiftX - 1;
+        double to = qx + qw + maxShiftX + 1;
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (x[order[mid]] < from) lo = mid + 1;
+            else hi = mid;
+        }
+        int qyMin = Math.min(qy0, qy1) - maxShiftY, qyMax = Math.max(qy0, qy1) + qh + maxShiftY;
+        for (int k = lo; k < size; k++) {
+            int id = order[k];
+            if (x[id] >= to) break;
+            if (e.y[id] >= qyMax || e.y[id] + e.h[id] <= qyMin) continue;
+            // Entity motion relative to the box, tested against the box at its start position
+            int x0 = (int) e.prevX[id], x1 = (int) x[id];
+            int relDy = (e.y[id] - e.prevY[id]) - (qy1 - qy0);
+            double t = SweptAabb.timeOfImpact(x0, e.prevY[id], e.w[id], e.h[id], x1 - x0, relDy, qx, qy0, qw, qh);
+            if (t != SweptAabb.NO_HIT) addContact(id, t);
+        }
+        return contactCount;
+    }
+
+    int contact(int index) {
+        return contacts[index];
+    }
+
+    // Time of impact of a contact, as a fraction of the tick
+    double contactTime(int index) {
+        return contactTimes[index];
+    }
+
+    private void track(EntityStore e, int id) {
+        if (tracked[id] || !e.active[id] || !accepts(e.type[id])) return;
+        if (size == order.length) order = Arrays.copyOf(order, order.length * 2);
+        order[size++] = id;
+        tracked[id] = true;
+        measure(e, id);
+    }
+
+    private void measure(EntityStore e, int id) {
+        maxWidth = Math.max(maxWidth, e.w[id]);
+        maxShiftX = Math.max(maxShiftX, Math.abs((int) e.x[id] - (int) e.prevX[id]));
+        maxShiftY = Math.max(maxShiftY, Math.abs(e.y[id] - e.prevY[id]));
+    }
+
+    private boolean accepts(byte type) {
+        return type >= minType && type <= maxType;
+    }
+
+    // Insert keeping (time of impact, id) order; there are only ever a few contacts
+    private void addContact(int id, double t) {
+        if (contactCount == contacts.length) {
+            contacts = Arrays.copyOf(contacts, contacts.length * 2);
+            contactTimes = Arrays.copyOf(contactTimes, contactTimes.length * 2);
+        }
+        int j = contactCount - 1;
+        while (j >= 0 && (contactTimes[j] > t || (contactTimes[j] == t && contacts[j] > id))) {
+            contacts[j + 1] = contacts[j];
+            contactTimes[j + 1] = contactTimes[j];
+            j--;
+        }
+        contacts[j + 1] = id;
+        contactTimes[j + 1] = t;
+        contactCount++;
+    }
+}
@@ -0,0 +1,164 @@
+package pawjump;
+
+import java.util.Arrays;
+
+// Every obstacle and pickup in the world, stored as parallel primitive arrays indexed by
+// entity id (struct of arrays). Update, cull and collision loops walk the arrays from 0 to
+// end() and skip inactive slots; no per-entity objects exist, so the loops touch contiguous
+// memory and allocate nothing. Freed ids go on a free-list and are reused by the next spawn;
+// the arrays only grow (by doubling) when more entities are alive at once than ever before.
+final class EntityStore {
+    // Entity types. Obstacle types double as the index into GameSimulation.hitsByObstacle.
+    static final byte OBS_GROUND = 0, OBS_FLOATING = 1, OBS_MOVING = 2;
+    static final byte FISH = 3, MEAT = 4, SUPLEMEN = 5;
+
+    double[] x;      // left edge, world pixels (obstacles scroll by fractional pixels)
+    int[] y, w, h;
+    // Position at the start of the last tick (where an entity spawned during it was placed),
+    // used by swept collision and render interpolation
+    double[] prevX;
+    int[] prevY;
+    int[] vy;        // vertical speed in pixels per tick, sign is direction (moving obstacles)
+    int[] minY, maxY; // vertical travel range (moving obstacles)
+    byte[] type;
+    int[] clip;        // AnimationClip id, or AnimationClip.NO_CLIP when not animated
+    long[] clipStart;  // tick the clip started; the frame is computed from it on demand
+    boolean[] active;
+
+    private int[] nextFree;
+    private int freeHead = -1;
+    private int end = 0; // one past the highest id ever spawned
+    private int count = 0;
+    // Ring of recently spawned ids, so indexes such as Broadphase pick up new entities
+    // without scanning the whole store; spawns counts every spawn ever made
+    private final int[] spawnLog = new int[64];
+    private long spawns = 0;
+
+    EntityStore(int capacity) {
+        allocate(Math.max(capacity, 4));
+    }
+
+    static boolean isObstacle(byte type) {
+        return type <= OBS_MOVING;
+    }
+
+    static boolean isPickup(byte type) {
+        return type >= FISH;
+    }
+
+    // Ids below this bound may be active; loops run 0 <= id < end()
+    int end() {
+        return end;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int capacity() {
+        return active.length;
+    }
+
+    // Claim an id for a new entity of the given type; position and size are left to the caller
+    int spawn(byte entityType) {
+        int id;
+        if (freeHead >= 0) {
+            id = freeHead;
+            freeHead = nextFree[id];
+        } else {
+            if (end == active.length) allocate(active.length * 2);
+            id = end++;
+        }
+        active[id] = true;
+        type[id] = entityType;
+        x[id] = prevX[id] = 0;
+        y[id] = prevY[id] = w[id] = h[id] = 0;
+        vy[id] = minY[id] = maxY[id] = 0;
+        clip[id] = AnimationClip.NO_CLIP;
+        clipStart[id] = 0;
+        count++;
+        spawnLog[(int) (spawns++ % spawnLog.length)] = id;
+        return id;
+    }
+
+    void free(int id) {
+        if (!active[id]) return;
+        active[id] = false;
+        nextFree[id] = freeHead;
+        freeHead = id;
+        count--;
+    }
+
+    void clear() {
+        Arrays.fill(active, 0, end, false);
+        freeHead = -1;
+        end = 0;
+        count = 0;
+        spawns += spawnLog.length; // readers that were in sync must rescan
+    }
+
+    long spawnCount() {
+        return spawns;
+    }
+
+    // Id of the n-th spawn, or -1 when it has already rotated out of the log
+    int spawnedId(long n) {
+        if (n < 0 || n >= spawns || spawns - n > spawnLog.length) return -1;
+        return spawnLog[(int) (n % spawnLog.length)];
+    }
+
+    // Become an exact copy of another store
+    void copyFrom(EntityStore o) {
+        x = o.x.clone();
+        prevX = o.prevX.clone();
+        y = o.y.clone();
+        prevY = o.prevY.clone();
+        w = o.w.clone();
+        h = o.h.clone();
+        vy = o.vy.clone();
+        minY = o.minY.clone();
+        maxY = o.maxY.clone();
+        type = o.type.clone();
+        clip = o.clip.clone();
+        clipStart = o.clipStart.clone();
+        active = o.active.clone();
+        nextFree = o.nextFree.clone();
+        freeHead = o.freeHead;
+        end = o.end;
+        count = o.count;
+        System.arraycopy(o.spawnLog, 0, spawnLog, 0, spawnLog.length);
+        spawns = o.spawns;
+    }
+
+    // Snapshot the positions of every entity at the start of a tick
+    void savePositions() {
+        System.arraycopy(x, 0, prevX, 0, end);
+        System.arraycopy(y, 0, prevY, 0, end);
+    }
+
+    private void allocate(int capacity) {
+        if (active != null && capacity <= active.length) return;
+        x = grow(x, capacity);
+        prevX = grow(prevX, capacity);
+        y = grow(y, capacity);
+        prevY = grow(prevY, capacity);
+        w = grow(w, capacity);
+        h = grow(h, capacity);
+        vy = grow(vy, capacity);
+        minY = grow(minY, capacity);
+        maxY = grow(maxY, capacity);
+        clip = grow(clip, capacity);
+        clipStart = clipStart == null ? new long[capacity] : Arrays.copyOf(clipStart, capacity);
+        nextFree = grow(nextFree, capacity);
+        type = type == null ? new byte[capacity] : Arrays.copyOf(type, capacity);
+        active = active == null ? new boolean[capacity] : Arrays.copyOf(active, capacity);
+    }
+
+    private static double[] grow(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    private static int[] grow(int[] a, int capacity) {
+        return a == null ? new int[capacity] : Arrays.copyOf(a, capacity);
+    }
+}
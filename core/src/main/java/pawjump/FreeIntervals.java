@@ -0,0 +1,64 @@
+package pawjump;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Picks a uniformly random integer from a range minus a set of blocked sub-ranges, with one
+// random draw: the blocked ranges are merged, the free length is summed, and the draw is
+// walked to its position. Replaces trial-and-error placement, which wastes draws when space
+// is tight and gives up after a fixed number of attempts. Buffers are reused between calls.
+final class FreeIntervals {
+    private int lo, hi;                   // inclusive range
+    private int[] blockLo = new int[8], blockHi = new int[8]; // inclusive, unsorted
+    private int blocks = 0;
+
+    void reset(int lo, int hi) {
+        this.lo = lo;
+        this.hi = hi;
+        blocks = 0;
+    }
+
+    // Exclude [from, to], inclusive; empty or out-of-range blocks are ignored
+    void block(int from, int to) {
+        from = Math.max(from, lo);
+        to = Math.min(to, hi);
+        if (from > to) return;
+        if (blocks == blockLo.length) {
+            blockLo = Arrays.copyOf(blockLo, blocks * 2);
+            blockHi = Arrays.copyOf(blockHi, blocks * 2);
+        }
+        // Insert sorted by start
+        int j = blocks - 1;
+        while (j >= 0 && blockLo[j] > from) {
+            blockLo[j + 1] = blockLo[j];
+            blockHi[j + 1] = blockHi[j];
+            j--;
+        }
+        blockLo[j + 1] = from;
+        blockHi[j + 1] = to;
+        blocks++;
+    }
+
+    // Uniform over the free values, or fallback when everything is blocked
+    int sample(SplittableRandom random, int fallback) {
+        long free = 0;
+        int cursor = lo; // first value not yet covered
+        for (int i = 0; i < blocks; i++) {
+            if (blockLo[i] > cursor) free += blockLo[i] - cursor;
+            cursor = Math.max(cursor, blockHi[i] + 1);
+        }
+        if (hi >= cursor) free += hi - cursor + 1;
+        if (free <= 0) return fallback;
+        long r = random.nextLong(free);
+        cursor = lo;
+        for (int i = 0; i < blocks; i++) {
+            if (blockLo[i] > cursor) {
+                long gap = blockLo[i] - cursor;
+                if (r < gap) return (int) (cursor + r);
+                r -= gap;
+            }
+            cursor = Math.max(cursor, blockHi[i] + 1);
+        }
+        return (int) (cursor + r);
+    }
+}
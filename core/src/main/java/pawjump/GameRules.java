@@ -0,0 +1,38 @@
+package pawjump;
+
+// Tunable balance parameters of a GameSimulation. DEFAULT is the shipped game; the balance
+// runner builds variants of it to sweep.
+final class GameRules {
+    static final GameRules DEFAULT = new GameRules(15, 250, 0.3, 0.2, 0.2);
+
+    final int fishNeeded;       // fish to collect per phase to level up
+    final int phaseLength;      // meters per phase / level
+    final double floatChance;   // chance an obstacle is a floating bird (from the 2nd phase)
+    final double movingChance;  // chance an obstacle moves up and down (from the 3rd phase)
+    final double speedStep;     // speed multiplier gained per level
+    final SpawnPattern spawns;  // item spawns within each phase, per level
+
+    GameRules(int fishNeeded, int phaseLength, double floatChance, double movingChance, double speedStep) {
+        this(fishNeeded, phaseLength, floatChance, movingChance, speedStep, SpawnPattern.DEFAULT);
+    }
+
+    GameRules(int fishNeeded, int phaseLength, double floatChance, double movingChance, double speedStep, SpawnPattern spawns) {
+        if (fishNeeded < 0 || phaseLength <= 0 || floatChance < 0 || movingChance < 0 || floatChance + movingChance > 1) {
+            throw new IllegalArgumentException("invalid rules: fishNeeded=" + fishNeeded + " phaseLength=" + phaseLength
+                    + " floatChance=" + floatChance + " movingChance=" + movingChance);
+        }
+        this.fishNeeded = fishNeeded;
+        this.phaseLength = phaseLength;
+        this.floatChance = floatChance;
+        this.movingChance = movingChance;
+        this.speedStep = speedStep;
+        this.spawns = spawns;
+    }
+
+    @Override
+    public String toString() {
+        return "fishNeeded=" + fishNeeded + " phaseLength=" + phaseLength + " floatChance=" + floatChance
+                + " movingChance=" + movingChance + " speedStep=" + speedStep
+                + (spawns.equals(SpawnPattern.DEFAULT) ? "" : " spawns=\"" + spawns + "\"");
+    }
+}
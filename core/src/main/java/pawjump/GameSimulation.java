@@ -0,0 +1,521 @@
+package pawjump;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Headless game rules: player, obstacles, fish/meat/suplemen items, phases, health and score.
+// Plain Java with no AWT/Swing dependency, advanced one fixed tick at a time by step(input),
+// so it runs under java.awt.headless=true and as fast as the CPU allows. GamePanel renders
+// the fields below and feeds keyboard input in; only this class writes them. Obstacles and
+// items live in the EntityStore; the per-kind phase logic keeps the id of its item.
+final class GameSimulation {
+    // World layout (the game is designed for a 1280x720 screen)
+    static final int WORLD_WIDTH = 1280;
+    // Ticks are the original 16 ms frame; durations that used to be wall-clock are converted
+    // and run on the TickWheel below
+    static final int TICK_MS = 16;
+    static final int MEAT_EFFECT_TICKS = (3000 + TICK_MS - 1) / TICK_MS; // 3 seconds
+    static final int LEVEL_UP_BANNER_TICKS = 2000 / TICK_MS; // 2 seconds
+    // Obstacle kinds, also the index into hitsByObstacle
+    static final int OBS_GROUND = EntityStore.OBS_GROUND, OBS_FLOATING = EntityStore.OBS_FLOATING, OBS_MOVING = EntityStore.OBS_MOVING;
+    static final int ITEM_SIZE = 48, OBSTACLE_SIZE = 80;
+    static final int NONE = -1;
+
+    final GameRules rules;
+    // Every session owns its random streams, derived from one seed, so runs can be replayed
+    // exactly and parallel sessions never contend on a shared generator
+    final long seed;
+    private final SplittableRandom obstacleRandom; // obstacle kind and direction
+    private final SplittableRandom itemRandom;     // item placement
+
+    long tick = 0;
+    // Delayed and duration-based events run on the tick clock, so they pause with the game
+    private static final int EV_MEAT_EXPIRES = 0, EV_BANNER_EXPIRES = 1, EV_HURT_ENDS = 2,
+            EV_ATTACK_ENDS = 3, EV_DEATH_ENDS = 4, EVENT_COUNT = 5;
+    private final TickWheel events = new TickWheel(EVENT_COUNT, 256);
+
+    // Player
+    int playerY = 360, playerVelY = 0;
+    static final int PLAYER_SIZE = 50;
+    final int playerX = 200, playerW = PLAYER_SIZE, playerH = PLAYER_SIZE;
+    boolean jumping = false;
+    // Position on the tick-aligned jump arc; playerY trails it by jumpLag sixteenths of a tick,
+    // so a jump pressed partway through a tick starts where the press happened (InputFrame)
+    int arcY = playerY, jumpLag = 0;
+    final int groundY = 600;
+    int health = 4;
+    final int maxHealth = 4;
+    boolean running = true;
+    // Set once the run is over (death animation finished or fish quota missed)
+    boolean gameOver = false;
+
+    // Obstacles and items
+    final EntityStore entities = new EntityStore(64);
+    private final Broadphase pickupContacts = new Broadphase(EntityStore.FISH, EntityStore.SUPLEMEN);
+    private final Broadphase obstacleContacts = new Broadphase(EntityStore.OBS_GROUND, EntityStore.OBS_MOVING);
+    final int obsMoveSpeed = 4;
+
+    // Fish item for level up
+    int fishCollected = 0;
+    int fishNeeded;
+    int fishId = NONE;
+    boolean levelUpRequired = false;
+    boolean levelUpFailed = false;
+    int fishPhase = 0; // 0: first phase, increments every phase
+    // Item spawns of the current phase, laid out from rules.spawns when the phase starts
+    private final SpawnTimeline spawns = new SpawnTimeline();
+    private final FreeIntervals freeY = new FreeIntervals();
+
+    // Meat item
+    int meatId = NONE;
+    boolean meatEffectActive = false;
+
+    // Suplemen item
+    int suplemenId = NONE;
+    boolean suplemenEffectActive = false;
+    boolean suplemenEffectUsed = false;
+
+    // Player animations: the tick each AnimationClip started (see playerClip()). The walk cycle
+    // only runs on the ground, so its start moves up by every tick spent off it.
+    long walkStart = 0, hurtStart = 0, attackStart = 0, deathStart = 0;
+    boolean isHurting = false;
+    final int hurtAnimDuration = 18; // duration in ticks
+    boolean isAttacking = false;
+    final int attackAnimDuration = AnimationClip.get(AnimationClip.ATTACK).length();
+    boolean isDying = false;
+    final int deathAnimDuration = AnimationClip.get(AnimationClip.DEATH).length();
+
+    // Distance the ground has scrolled left, in pixels (cosmetic). Never wraps: the renderer
+    // derives every parallax layer's offset from it with the layer's own scroll factor.
+    double scrollX = 0;
+    boolean isDay = true;
+
+    // Distance and level
+    final int speed = 12;
+    double speedMultiplier = 1.0;
+    int score = 0; // meters
+    double accumulatedDistance = 0.0;
+    int currentLevel = 1;
+    boolean levelUpBannerVisible = false;
+    // Damaging collisions per obstacle kind (OBS_*)
+    final int[] hitsByObstacle = new int[3];
+    // Fish caught over the whole run (fishCollected restarts every phase)
+    int totalFish = 0;
+
+    GameSimulation() {
+        this(GameRules.DEFAULT, newSeed());
+    }
+
+    GameSimulation(GameRules rules, long seed) {
+        this.rules = rules;
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.obstacleRandom = root.split();
+        this.itemRandom = root.split();
+        this.fishNeeded = rules.fishNeeded;
+        // Place the items due at the start, then the first obstacle
+        spawns.build(rules.spawns, 1, 0, rules.phaseLength);
+        spawnDueItems();
+        spawnObstacle();
+    }
+
+    // Copy of the world state with new random streams: the fork plays on from the same moment
+    // but spawns differently. Lets benchmarks and tools start many runs from one mid-game state
+    // without replaying up to it.
+    private GameSimulation(GameSimulation from, long seed) {
+        this.rules = from.rules;
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.obstacleRandom = root.split();
+        this.itemRandom = root.split();
+        tick = from.tick;
+        events.copyFrom(from.events);
+        playerY = from.playerY;
+        playerVelY = from.playerVelY;
+        jumping = from.jumping;
+        arcY = from.arcY;
+        jumpLag = from.jumpLag;
+        health = from.health;
+        running = from.running;
+        gameOver = from.gameOver;
+        entities.copyFrom(from.entities);
+        fishCollected = from.fishCollected;
+        fishNeeded = from.fishNeeded;
+        fishId = from.fishId;
+        levelUpRequired = from.levelUpRequired;
+        levelUpFailed = from.levelUpFailed;
+        fishPhase = from.fishPhase;
+        spawns.copyFrom(from.spawns);
+        meatId = from.meatId;
+        meatEffectActive = from.meatEffectActive;
+        suplemenId = from.suplemenId;
+        suplemenEffectActive = from.suplemenEffectActive;
+        suplemenEffectUsed = from.suplemenEffectUsed;
+        walkStart = from.walkStart;
+        hurtStart = from.hurtStart;
+        attackStart = from.attackStart;
+        deathStart = from.deathStart;
+        isHurting = from.isHurting;
+        isAttacking = from.isAttacking;
+        isDying = from.isDying;
+        scrollX = from.scrollX;
+        isDay = from.isDay;
+        speedMultiplier = from.speedMultiplier;
+        score = from.score;
+        accumulatedDistance = from.accumulatedDistance;
+        currentLevel = from.currentLevel;
+        levelUpBannerVisible = from.levelUpBannerVisible;
+        System.arraycopy(from.hitsByObstacle, 0, hitsByObstacle, 0, hitsByObstacle.length);
+        totalFish = from.totalFish;
+    }
+
+    GameSimulation fork(long seed) {
+        return new GameSimulation(this, seed);
+    }
+
+    static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    boolean isLevelUpBannerVisible() {
+        return levelUpBannerVisible;
+    }
+
+    // The clip the player shows right now, most important state first
+    int playerClip() {
+        if (isDying) return AnimationClip.DEATH;
+        if (isAttacking) return AnimationClip.ATTACK;
+        if (isHurting) return AnimationClip.HURT;
+        return AnimationClip.WALK;
+    }
+
+    long playerClipStart() {
+        if (isDying) return deathStart;
+        if (isAttacking) return attackStart;
+        if (isHurting) return hurtStart;
+        return walkStart;
+    }
+
+    // Advance the world by one tick
+    void step(InputFrame input) {
+        if (gameOver) return;
+        tick++;
+        entities.savePositions();
+        runDueEvents();
+        if (input.jump && !jumping && running) {
+            playerVelY = -30;
+            jumping = true;
+            jumpLag = input.jumpLag;
+        }
+        // While dying only the death animation plays; EV_DEATH_ENDS ends the run
+        if (isDying) return;
+
+        // Handle fish collection phases and level up/fail logic (endless)
+        int phaseEnd = (fishPhase + 1) * rules.phaseLength;
+        if (score >= phaseEnd) {
+            levelUpRequired = true;
+            if (fishCollected < fishNeeded) {
+                // Not enough fish, fail
+                levelUpFailed = true;
+                health = 0;
+                running = false;
+                levelUpBannerVisible = false;
+                events.cancel(EV_BANNER_EXPIRES);
+                gameOver = true;
+                return;
+            } else {
+                // Enough fish, continue to next phase: items and the suplemen shield of the
+                // old phase are gone, the new phase gets its own spawn timeline
+                levelUpRequired = false;
+                fishId = release(fishId);
+                meatId = release(meatId);
+                suplemenId = release(suplemenId);
+                suplemenEffectActive = false;
+                suplemenEffectUsed = false;
+                fishPhase++;
+                fishCollected = 0;
+                fishNeeded = rules.fishNeeded;
+                spawns.build(rules.spawns, fishPhase + 1, phaseEnd, rules.phaseLength);
+            }
+        }
+        if (spawns.nextDistance() <= accumulatedDistance) spawnDueItems();
+
+        // Move every pickup at the obstacle speed, drop the ones that left the screen and
+        // collect the ones the player touches. The fish is never dropped: when it is missed or
+        // caught it is placed again below, once the other items have settled for this tick.
+        EntityStore e = entities;
+        int itemStep = (int)(speed * speedMultiplier);
+        boolean fishMissed = false, fishCaught = false;
+        for (int i = 0, end = e.end(); i < end; i++) {
+            if (!e.active[i] || !EntityStore.isPickup(e.type[i])) continue;
+            e.x[i] -= itemStep;
+            if (e.x[i] + e.w[i] < 0) {
+                if (i == fishId) fishMissed = true;
+                else removePickup(i);
+            }
+        }
+        pickupContacts.update(e);
+        // Swept over the tick, so a fast item cannot skip past the player between two ticks
+        int touched = running ? pickupContacts.query(e, playerX, playerY, playerY, playerW, playerH) : 0;
+        for (int c = 0; c < touched; c++) {
+            int i = pickupContacts.contact(c);
+            switch (e.type[i]) {
+                case EntityStore.SUPLEMEN:
+                    suplemenEffectActive = true;
+                    suplemenEffectUsed = false;
+                    removePickup(i);
+                    startAttack();
+                    break;
+                case EntityStore.MEAT:
+                    meatEffectActive = true;
+                    events.schedule(EV_MEAT_EXPIRES, tick + MEAT_EFFECT_TICKS);
+                    removePickup(i);
+                    startAttack();
+                    break;
+                default:
+                    fishCaught = true;
+                    break;
+            }
+        }
+        // The ground scrolls at the same speed as obstacles
+        scrollX += speed * speedMultiplier;
+
+        // Respawn the fish if it went off screen or was collected
+        if (fishMissed) {
+            placeFish();
+        } else if (fishCaught) {
+            fishCollected++;
+            totalFish++;
+            placeFish();
+            startAttack();
+        }
+        // Walk animation only advances on the ground, not while jumping or hurting
+        if (isHurting || jumping || playerY < groundY - playerH) walkStart++;
+        // Day/night switch every phase
+        isDay = ((score / rules.phaseLength) % 2 == 0);
+        if (!running) return;
+        // Increase speed every phase (use score for exact sync with background change)
+        speedMultiplier = 1.0 + rules.speedStep * (score / rules.phaseLength);
+        // Move obstacles at the same speed as the items (speedMultiplier applies to both): moving
+        // obstacles bounce up and down, and an obstacle that leaves the screen is replaced by a
+        // new one at the right edge
+        double obstacleStep = speed * speedMultiplier;
+        for (int i = 0, end = e.end(); i < end; i++) {
+            if (!e.active[i] || !EntityStore.isObstacle(e.type[i])) continue;
+            if (e.type[i] == EntityStore.OBS_MOVING) {
+                int y = e.y[i] + e.vy[i];
+                if (y <= e.minY[i]) {
+                    y = e.minY[i];
+                    e.vy[i] = obsMoveSpeed;
+                } else if (y >= e.maxY[i]) {
+                    y = e.maxY[i];
+                    e.vy[i] = -obsMoveSpeed;
+                }
+                e.y[i] = y;
+            }
+            e.x[i] -= obstacleStep;
+            if (e.x[i] + e.w[i] < 0) {
+                e.free(i);
+                spawnObstacle();
+            }
+        }
+        // Gravity
+        int startY = playerY, arcStart = arcY;
+        playerVelY += 2;
+        arcY += playerVelY;
+        if (arcY >= groundY - playerH) {
+            arcY = groundY - playerH;
+            playerVelY = 0;
+            jumping = false;
+            jumpLag = 0;
+        }
+        playerY = arcY - (arcY - arcStart) * jumpLag / InputFrame.SUB_TICKS;
+        // Collision: every obstacle the player touched during the tick is used up and replaced,
+        // earliest impact first. The test is swept over both movements, so obstacles cannot
+        // tunnel through the player however fast the level gets.
+        obstacleContacts.update(e);
+        int contacts = obstacleContacts.query(e, playerX, startY, playerY, playerW, playerH);
+        for (int c = 0; c < contacts; c++) {
+            int i = obstacleContacts.contact(c);
+            if (suplemenEffectActive && !suplemenEffectUsed) {
+                // Resist obstacle, do not decrease health, consume effect
+                suplemenEffectUsed = true;
+                suplemenEffectActive = false;
+                e.free(i);
+                spawnObstacle();
+            } else {
+                if (!isHurting) {
+                    isHurting = true;
+                    hurtStart = tick;
+                    events.schedule(EV_HURT_ENDS, tick + hurtAnimDuration);
+                }
+                if (health > 0) {
+                    health--;
+                    hitsByObstacle[e.type[i]]++;
+                    e.free(i);
+                    spawnObstacle();
+                }
+                if (health <= 0 && !isDying) {
+                    // Start death animation
+                    running = false;
+                    health = 0;
+                    isDying = true;
+                    deathStart = tick;
+                    events.schedule(EV_DEATH_ENDS, tick + deathAnimDuration);
+                    return;
+                }
+            }
+        }
+
+        // --- LEVEL SYSTEM ---
+        // Accumulate distance per tick using only the base speed (not affected by multiplier)
+        double distanceThisTick = (speed / 50.0) * 0.5;
+        accumulatedDistance += distanceThisTick;
+        score = (int)Math.floor(accumulatedDistance); // score is now meters
+        int newLevel = (int)(accumulatedDistance / rules.phaseLength) + 1;
+        if (newLevel > currentLevel) {
+            currentLevel = newLevel;
+            levelUpBannerVisible = true;
+            events.schedule(EV_BANNER_EXPIRES, tick + LEVEL_UP_BANNER_TICKS);
+        }
+        // Speed increases every level (every phase)
+        speedMultiplier = 1.0 + rules.speedStep * (currentLevel - 1);
+    }
+
+    private void startAttack() {
+        isAttacking = true;
+        attackStart = tick;
+        events.schedule(EV_ATTACK_ENDS, tick + attackAnimDuration);
+    }
+
+    // Apply the scheduled events that are due this tick
+    private void runDueEvents() {
+        for (int i = 0, n = events.advance(tick); i < n; i++) {
+            switch (events.fired(i)) {
+                case EV_MEAT_EXPIRES:
+                    meatEffectActive = false;
+                    break;
+                case EV_BANNER_EXPIRES:
+                    levelUpBannerVisible = false;
+                    break;
+                case EV_HURT_ENDS:
+                    isHurting = false;
+                    break;
+                case EV_ATTACK_ENDS:
+                    isAttacking = false;
+                    break;
+                default: // EV_DEATH_ENDS: the character stays on its last death frame
+                    gameOver = true;
+                    break;
+            }
+        }
+    }
+
+    // Free an item and return NONE, for clearing the id that referred to it
+    private int release(int id) {
+        if (id != NONE) entities.free(id);
+        return NONE;
+    }
+
+    private void removePickup(int id) {
+        if (id == fishId) fishId = NONE;
+        else if (id == meatId) meatId = NONE;
+        else if (id == suplemenId) suplemenId = NONE;
+        entities.free(id);
+    }
+
+    private void spawnObstacle() {
+        // If level up is required, don't spawn obstacles
+        if (levelUpRequired) return;
+        // Floating obstacles from the second phase (250m), moving obstacles from the third (500m)
+        boolean allowFloating = score >= rules.phaseLength;
+        boolean allowMoving = score >= 2 * rules.phaseLength;
+        double floatChance = allowFloating ? rules.floatChance : 0.0;
+        double movingChance = allowMoving ? rules.movingChance : 0.0;
+        double r = obstacleRandom.nextDouble();
+        EntityStore e = entities;
+        int id;
+        if (r < floatChance) {
+            // Floating obstacle: always same height and always floats at a fixed height from the ground
+            id = e.spawn(EntityStore.OBS_FLOATING);
+            int floatGap = 180;
+            e.y[id] = groundY - OBSTACLE_SIZE - floatGap;
+            // Birds flap from the tick they appear
+            e.clip[id] = AnimationClip.BIRD;
+            e.clipStart[id] = tick;
+        } else if (r < floatChance + movingChance) {
+            // Moving obstacle: moves up and down
+            id = e.spawn(EntityStore.OBS_MOVING);
+            // Wider vertical range: from much higher to much lower
+            int minY = groundY - 350;
+            int maxY = groundY - 30;
+            // Clamp so the obstacle doesn't go off screen
+            if (minY < 0) minY = 0;
+            if (maxY > groundY - OBSTACLE_SIZE) maxY = groundY - OBSTACLE_SIZE;
+            e.minY[id] = minY;
+            e.maxY[id] = maxY;
+            // Start in the middle of the allowed range
+            e.y[id] = maxY - (maxY - minY) / 2;
+            e.vy[id] = obstacleRandom.nextBoolean() ? obsMoveSpeed : -obsMoveSpeed;
+        } else {
+            id = e.spawn(EntityStore.OBS_GROUND);
+            e.y[id] = groundY - OBSTACLE_SIZE;
+        }
+        e.x[id] = e.prevX[id] = WORLD_WIDTH;
+        e.prevY[id] = e.y[id];
+        e.w[id] = OBSTACLE_SIZE;
+        e.h[id] = OBSTACLE_SIZE;
+    }
+
+    // Spawn every item whose timeline event is due; an item whose kind is still on screen waits
+    private void spawnDueItems() {
+        for (int i = spawns.first(); spawns.isDue(i, accumulatedDistance); i++) {
+            if (spawns.isDone(i)) continue;
+            switch (spawns.kind(i)) {
+                case EntityStore.FISH:
+                    // The fish stays in play for the rest of the phase once it has started
+                    if (fishId == NONE) {
+                        fishId = entities.spawn(EntityStore.FISH);
+                        placeFish();
+                    }
+                    break;
+                case EntityStore.MEAT:
+                    if (meatId != NONE) continue;
+                    meatId = entities.spawn(EntityStore.MEAT);
+                    placeItem(meatId, 60);
+                    break;
+                default:
+                    if (suplemenId != NONE) continue;
+                    suplemenId = entities.spawn(EntityStore.SUPLEMEN);
+                    placeItem(suplemenId, 60);
+                    break;
+            }
+            spawns.markDone(i);
+        }
+    }
+
+    // The fish may sit lower than the other items so it can be caught without jumping
+    private void placeFish() {
+        placeItem(fishId, 10);
+    }
+
+    // Place an item at the right edge, at a random height within jump reach and at least
+    // marginAbovePlatform above the ground, keeping 10px vertically from every other active item
+    private void placeItem(int id, int marginAbovePlatform) {
+        EntityStore e = entities;
+        e.x[id] = e.prevX[id] = WORLD_WIDTH - ITEM_SIZE - 10;
+        e.w[id] = ITEM_SIZE;
+        e.h[id] = ITEM_SIZE;
+        int jumpHeight = 225;
+        int minY = Math.max(0, groundY - ITEM_SIZE - jumpHeight);
+        int maxY = Math.max(minY + 1, groundY - ITEM_SIZE - marginAbovePlatform);
+        int minDist = 10;
+        freeY.reset(minY, maxY);
+        for (int i = 0, end = e.end(); i < end; i++) {
+            if (i == id || !e.active[i] || !EntityStore.isPickup(e.type[i])) continue;
+            // Tops that would come closer than minDist to item i
+            freeY.block(e.y[i] - ITEM_SIZE - minDist + 1, e.y[i] + e.h[i] + minDist - 1);
+        }
+        e.y[id] = e.prevY[id] = freeY.sample(itemRandom, minY);
+    }
+}
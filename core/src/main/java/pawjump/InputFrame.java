@@ -0,0 +1,30 @@
+package pawjump;
+
+// Player input for one simulation tick. A single instance is reused: the input adapter fills
+// it in before each GameSimulation.step and clears it afterwards.
+final class InputFrame {
+    // Bit per input in the packed form used by recordings. Bit 0 is jump and bits 1-4 its lag,
+    // so the next new input takes bit 5, 1 << (JUMP_LAG_SHIFT + 4).
+    static final int BIT_JUMP = 1;
+    // Bits 1-4: how far into the tick the jump was pressed, in sixteenths (0 = at its start,
+    // which is also what recordings made before this field replay as)
+    static final int SUB_TICKS = 16;
+    private static final int JUMP_LAG_SHIFT = 1;
+
+    boolean jump;
+    int jumpLag; // 0..SUB_TICKS-1, only meaningful with jump
+
+    void clear() {
+        jump = false;
+        jumpLag = 0;
+    }
+
+    int toBits() {
+        return jump ? BIT_JUMP | jumpLag << JUMP_LAG_SHIFT : 0;
+    }
+
+    void fromBits(int bits) {
+        jump = (bits & BIT_JUMP) != 0;
+        jumpLag = jump ? (bits >>> JUMP_LAG_SHIFT) & (SUB_TICKS - 1) : 0;
+    }
+}
@@ -0,0 +1,185 @@
+package pawjump;
+
+import java.io.*;
+import java.util.Arrays;
+
+// Compact record of one run: the seed and rules it started from, every non-empty input as a
+// tick-indexed event, and a checksum of the final state. Replaying re-simulates the run
+// headless at full speed and checks the outcome still matches, which lets a corpus of real
+// runs act as a regression test for rule changes.
+//
+// File layout (.pjr): magic "PJRC", version byte, seed, rules (since version 2 ending with the
+// spawn pattern text), final tick / score / level / health, state checksum, then the event
+// stream. Each event is a varint tick delta followed by
+// the varint input bits (InputFrame.toBits, including a jump's sub-tick lag), so a jump costs
+// 2-3 bytes and new input bits only grow the encoding when they are used.
+final class InputRecording {
+    static final String EXTENSION = ".pjr";
+    private static final int MAGIC = 0x504A5243; // "PJRC"
+    private static final int VERSION = 2;
+
+    final long seed;
+    final GameRules rules;
+    private byte[] events = new byte[64];
+    private int eventsLength = 0;
+    private long lastEventTick = 0;
+    // Final state, set by finish() or read from a file
+    long finalTick;
+    int finalScore, finalLevel, finalHealth;
+    long finalChecksum;
+
+    InputRecording(long seed, GameRules rules) {
+        this.seed = seed;
+        this.rules = rules;
+    }
+
+    // Record the input applied by the step that produces the given tick
+    void record(long tick, InputFrame input) {
+        int bits = input.toBits();
+        if (bits == 0) return;
+        writeVarLong(tick - lastEventTick);
+        writeVarLong(bits);
+        lastEventTick = tick;
+    }
+
+    void finish(GameSimulation sim) {
+        finalTick = sim.tick;
+        finalScore = sim.score;
+        finalLevel = sim.currentLevel;
+        finalHealth = sim.health;
+        finalChecksum = stateChecksum(sim);
+    }
+
+    int sizeBytes() {
+        return eventsLength;
+    }
+
+    // Checksum of the outcome a replay must reproduce
+    static long stateChecksum(GameSimulation sim) {
+        long h = 0xCBF29CE484222325L;
+        long[] parts = { sim.tick, sim.score, sim.currentLevel, sim.health, sim.fishCollected, Double.doubleToLongBits(sim.accumulatedDistance) };
+        for (long p : parts) {
+            h ^= p;
+            h *= 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    // Re-simulate the run and return the resulting simulation
+    GameSimulation replay() {
+        GameSimulation sim = new GameSimulation(rules, seed);
+        InputFrame input = new InputFrame();
+        int[] pos = { 0 };
+        long nextTick = eventsLength > 0 ? readVarLong(pos) : Long.MAX_VALUE;
+        while (!sim.gameOver && sim.tick < finalTick) {
+            if (sim.tick + 1 == nextTick) {
+                input.fromBits((int) readVarLong(pos));
+                nextTick = pos[0] < eventsLength ? nextTick + readVarLong(pos) : Long.MAX_VALUE;
+            }
+            sim.step(input);
+            input.clear();
+        }
+        return sim;
+    }
+
+    // Replay and compare with the stored outcome
+    boolean verify(GameSimulation replayed) {
+        return replayed.tick == finalTick && replayed.score == finalScore && replayed.currentLevel == finalLevel
+                && replayed.health == finalHealth && stateChecksum(replayed) == finalChecksum;
+    }
+
+    void writeTo(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeInt(rules.fishNeeded);
+        out.writeInt(rules.phaseLength);
+        out.writeDouble(rules.floatChance);
+        out.writeDouble(rules.movingChance);
+        out.writeDouble(rules.speedStep);
+        out.writeUTF(rules.spawns.toString());
+        out.writeLong(finalTick);
+        out.writeInt(finalScore);
+        out.writeInt(finalLevel);
+        out.writeInt(finalHealth);
+        out.writeLong(finalChecksum);
+        out.writeInt(eventsLength);
+        out.write(events, 0, eventsLength);
+        out.flush();
+    }
+
+    static InputRecording readFrom(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+        if (in.readInt() != MAGIC) throw new IOException("not a recording");
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) throw new IOException("unsupported recording version " + version);
+        long seed = in.readLong();
+        int fishNeeded = in.readInt(), phaseLength = in.readInt();
+        double floatChance = in.readDouble(), movingChance = in.readDouble(), speedStep = in.readDouble();
+        SpawnPattern spawns = version >= 2 ? SpawnPattern.parse(in.readUTF()) : SpawnPattern.DEFAULT;
+        GameRules rules = new GameRules(fishNeeded, phaseLength, floatChance, movingChance, speedStep, spawns);
+        InputRecording r = new InputRecording(seed, rules);
+        r.finalTick = in.readLong();
+        r.finalScore = in.readInt();
+        r.finalLevel = in.readInt();
+        r.finalHealth = in.readInt();
+        r.finalChecksum = in.readLong();
+        r.eventsLength = in.readInt();
+        r.events = new byte[r.eventsLength];
+        in.readFully(r.events);
+        return r;
+    }
+
+    private void writeVarLong(long v) {
+        if (eventsLength + 10 > events.length) events = Arrays.copyOf(events, events.length * 2);
+        while ((v & ~0x7FL) != 0) {
+            events[eventsLength++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        events[eventsLength++] = (byte) v;
+    }
+
+    private long readVarLong(int[] pos) {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = events[pos[0]++];
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return v;
+    }
+
+    // Command-line replay: java -jar pawjump-client.jar --replay <file.pjr | directory>...
+    // Prints one line per recording; exits with status 1 if any outcome changed.
+    static void main(String[] args) throws IOException {
+        int failures = 0, total = 0;
+        for (String arg : args) {
+            File f = new File(arg);
+            File[] files = f.isDirectory() ? f.listFiles((dir, name) -> name.endsWith(EXTENSION)) : new File[] { f };
+            if (files == null) continue;
+            Arrays.sort(files);
+            for (File file : files) {
+                total++;
+                InputRecording rec;
+                try (InputStream is = new FileInputStream(file)) {
+                    rec = readFrom(is);
+                }
+                long start = System.nanoTime();
+                GameSimulation sim = rec.replay();
+                double ms = (System.nanoTime() - start) / 1e6;
+                boolean ok = rec.verify(sim);
+                if (!ok) failures++;
+                System.out.printf("%s %s: %d m, level %d, health %d, %d ticks in %.2f ms%s%n",
+                        ok ? "OK      " : "MISMATCH", file.getName(), sim.score, sim.currentLevel, sim.health, sim.tick, ms,
+                        ok ? "" : String.format(" (recorded %d m, level %d, health %d, %d ticks)",
+                                rec.finalScore, rec.finalLevel, rec.finalHealth, rec.finalTick));
+            }
+        }
+        System.out.printf("%d recordings, %d mismatched%n", total, failures);
+        if (failures > 0) System.exit(1);
+    }
+}
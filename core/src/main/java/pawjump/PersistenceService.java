@@ -0,0 +1,230 @@
+package pawjump;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Owner of everything the game keeps on disk: the high score (highscore.txt), the run log
+// (runs.dat) and whole files such as recordings. Reads are served from memory; every write
+// is queued to one background thread, so the game thread never touches the file system.
+// Files are replaced through a temporary file and an atomic rename, so a crash mid-write
+// leaves the previous version intact. Pending writes are flushed on JVM exit; a write that
+// fails is reported on standard error.
+//
+// Run log layout: magic "PJRL", version int, then one fixed 36-byte record per finished
+// run (end time millis, seed, score, level, fish, ticks). The file is only ever appended
+// to; a torn record at the end is ignored when reading and cut off by the next append.
+final class PersistenceService {
+    static final String HIGHSCORE_FILE = "highscore.txt";
+    static final String RUN_LOG_FILE = "runs.dat";
+    private static final int RUN_LOG_MAGIC = 0x504A524C; // "PJRL"
+    private static final int RUN_LOG_VERSION = 1;
+    private static final int RUN_LOG_HEADER_BYTES = 8;
+    private static final int RUN_RECORD_BYTES = 36;
+    private static final long EXIT_FLUSH_MILLIS = 2000;
+
+    // Writes a whole file's content; run on the writer thread
+    interface FileContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // One finished run as stored in the run log
+    static final class RunRecord {
+        final long endedAtMillis, seed, ticks;
+        final int score, level, fish;
+
+        RunRecord(long endedAtMillis, long seed, int score, int level, int fish, long ticks) {
+            this.endedAtMillis = endedAtMillis;
+            this.seed = seed;
+            this.score = score;
+            this.level = level;
+            this.fish = fish;
+            this.ticks = ticks;
+        }
+    }
+
+    private static PersistenceService instance;
+
+    private final File highScoreFile, runLogFile;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "pawjump-persistence");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile int highScore;
+    // Set while a high score write is queued; later scores ride along with it
+    private final AtomicBoolean highScoreQueued = new AtomicBoolean();
+
+    // Reads the high score file on the calling thread; create the service before the game starts
+    PersistenceService(File highScoreFile, File runLogFile) {
+        this.highScoreFile = highScoreFile;
+        this.runLogFile = runLogFile;
+        highScore = readHighScore(highScoreFile);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(EXIT_FLUSH_MILLIS), "pawjump-persistence-exit"));
+    }
+
+    // Shared instance over the files in the working directory. PawJump.main creates it before
+    // any window opens, so the initial read never happens on the event thread.
+    static synchronized PersistenceService get() {
+        if (instance == null) instance = new PersistenceService(new File(HIGHSCORE_FILE), new File(RUN_LOG_FILE));
+        return instance;
+    }
+
+    int highScore() {
+        return highScore;
+    }
+
+    // Raise the high score if score beats it; returns whether it did. The file is written later.
+    boolean submitScore(int score) {
+        if (score <= highScore) return false;
+        highScore = score;
+        if (highScoreQueued.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                highScoreQueued.set(false);
+                try {
+                    writeHighScore(highScoreFile, highScore);
+                } catch (IOException e) {
+                    writeFailed(highScoreFile, e); // the old file stays intact
+                }
+            });
+        }
+        return true;
+    }
+
+    // Append a finished run to the run log
+    void recordRun(GameSimulation sim) {
+        long endedAt = System.currentTimeMillis();
+        long seed = sim.seed, ticks = sim.tick;
+        int score = sim.score, level = sim.currentLevel, fish = sim.totalFish;
+        writer.execute(() -> {
+            try {
+                appendRun(runLogFile, new RunRecord(endedAt, seed, score, level, fish, ticks));
+            } catch (IOException e) {
+                writeFailed(runLogFile, e);
+            }
+        });
+    }
+
+    // Replace file with the given content on the writer thread. The content must not depend on
+    // state the caller keeps mutating.
+    void writeFile(File file, FileContent content) {
+        writer.execute(() -> {
+            try {
+                writeAtomically(file, content);
+            } catch (IOException e) {
+                writeFailed(file, e);
+            }
+        });
+    }
+
+    // Writes are best effort and the game carries on, but a file that silently stops updating
+    // is hard to diagnose, so say which one and why
+    private static void writeFailed(File file, IOException e) {
+        System.err.println("pawjump: could not write " + file + ": " + e);
+    }
+
+    // Wait until every write queued so far is done (or the timeout passes)
+    boolean flush(long timeoutMillis) {
+        Future<?> marker;
+        try {
+            marker = writer.submit(() -> {});
+        } catch (RejectedExecutionException e) {
+            return true;
+        }
+        try {
+            marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    // 0 when the file is missing or unreadable
+    static int readHighScore(File file) {
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            return Integer.parseInt(br.readLine().trim());
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    static void writeHighScore(File file, int highScore) throws IOException {
+        byte[] text = String.valueOf(highScore).getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        writeAtomically(file, out -> out.write(text));
+    }
+
+    // Write to a sibling temporary file, then rename it over the target
+    static void writeAtomically(File file, FileContent content) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) dir.mkdirs();
+        Path target = file.toPath();
+        Path tmp = target.resolveSibling(file.getName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             OutputStream out = new BufferedOutputStream(fos)) {
+            content.writeTo(out);
+            out.flush();
+            fos.getFD().sync();
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // A torn record left at the end by a crash is cut off first, so the new record starts on a
+    // record boundary instead of being misread as the tail of the old one
+    static void appendRun(File file, RunRecord run) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            long whole = size < RUN_LOG_HEADER_BYTES ? 0
+                    : size - (size - RUN_LOG_HEADER_BYTES) % RUN_RECORD_BYTES;
+            if (whole < size) ch.truncate(whole);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(RUN_LOG_HEADER_BYTES + RUN_RECORD_BYTES);
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (whole == 0) {
+                out.writeInt(RUN_LOG_MAGIC);
+                out.writeInt(RUN_LOG_VERSION);
+            }
+            out.writeLong(run.endedAtMillis);
+            out.writeLong(run.seed);
+            out.writeInt(run.score);
+            out.writeInt(run.level);
+            out.writeInt(run.fish);
+            out.writeLong(run.ticks);
+            ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+            long at = whole;
+            while (buf.hasRemaining()) at += ch.write(buf, at);
+        }
+    }
+
+    // Every complete record in the run log; empty when the file is missing
+    static List<RunRecord> readRuns(File file) throws IOException {
+        List<RunRecord> runs = new ArrayList<>();
+        if (!file.exists()) return runs;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != RUN_LOG_MAGIC) throw new IOException("Not a run log: " + file);
+            int version = in.readInt();
+            if (version != RUN_LOG_VERSION) throw new IOException("Unsupported run log version " + version);
+            byte[] record = new byte[RUN_RECORD_BYTES];
+            while (true) {
+                try {
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break; // end of file, or a record torn by a crash
+                }
+                DataInputStream r = new DataInputStream(new ByteArrayInputStream(record));
+                runs.add(new RunRecord(r.readLong(), r.readLong(), r.readInt(), r.readInt(), r.readInt(), r.readLong()));
+            }
+        }
+        return runs;
+    }
+}
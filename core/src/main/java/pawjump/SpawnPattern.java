@@ -0,0 +1,107 @@
+package pawjump;
+
+import java.util.Arrays;
+
+// Which items appear where in a phase, per level. Written as text so patterns can be tuned
+// without code changes:
+//
+//   fish@0 meat@0.2 suplemen@0.5 meat@0.8; 5: fish@0 meat@0.2 meat@0.4 suplemen@0.5 meat@0.8
+//
+// Entries are separated by ';'. An entry applies from the level before its colon (level 1 when
+// omitted) until the next entry that starts later. Each event is kind@offset, the offset being a
+// fraction of the phase length or, with an 'm' suffix, meters into the phase (meat@50m).
+// Kinds are fish (the level-up fish starts appearing), meat and suplemen. Immutable.
+final class SpawnPattern {
+    static final SpawnPattern DEFAULT = parse("fish@0 meat@0.2 suplemen@0.5 meat@0.8");
+
+    private final String text;
+    private final int[] fromLevel;       // ascending
+    private final byte[][] kinds;        // per entry, EntityStore item types
+    private final double[][] offsets;    // per entry, ascending
+    private final boolean[][] inMeters;
+
+    private SpawnPattern(String text, int[] fromLevel, byte[][] kinds, double[][] offsets, boolean[][] inMeters) {
+        this.text = text;
+        this.fromLevel = fromLevel;
+        this.kinds = kinds;
+        this.offsets = offsets;
+        this.inMeters = inMeters;
+    }
+
+    static SpawnPattern parse(String text) {
+        String[] entries = text.trim().split("\\s*;\\s*");
+        int n = entries.length;
+        int[] fromLevel = new int[n];
+        byte[][] kinds = new byte[n][];
+        double[][] offsets = new double[n][];
+        boolean[][] inMeters = new boolean[n][];
+        for (int i = 0; i < n; i++) {
+            String entry = entries[i];
+            int colon = entry.indexOf(':');
+            fromLevel[i] = colon < 0 ? 1 : Integer.parseInt(entry.substring(0, colon).trim());
+            if (fromLevel[i] < 1 || (i > 0 && fromLevel[i] <= fromLevel[i - 1])) {
+                throw new IllegalArgumentException("spawn pattern levels must start at 1 or later and increase: " + text);
+            }
+            String[] events = entry.substring(colon + 1).trim().split("\\s+");
+            kinds[i] = new byte[events.length];
+            offsets[i] = new double[events.length];
+            inMeters[i] = new boolean[events.length];
+            for (int j = 0; j < events.length; j++) {
+                String[] parts = events[j].split("@");
+                if (parts.length != 2) throw new IllegalArgumentException("bad spawn event '" + events[j] + "' in: " + text);
+                kinds[i][j] = kind(parts[0]);
+                String at = parts[1];
+                inMeters[i][j] = at.endsWith("m");
+                offsets[i][j] = Double.parseDouble(inMeters[i][j] ? at.substring(0, at.length() - 1) : at);
+                if (offsets[i][j] < 0 || (!inMeters[i][j] && offsets[i][j] >= 1)) {
+                    throw new IllegalArgumentException("spawn offset out of the phase: '" + events[j] + "' in: " + text);
+                }
+            }
+        }
+        return new SpawnPattern(text.trim(), fromLevel, kinds, offsets, inMeters);
+    }
+
+    private static byte kind(String name) {
+        switch (name) {
+            case "fish": return EntityStore.FISH;
+            case "meat": return EntityStore.MEAT;
+            case "suplemen": return EntityStore.SUPLEMEN;
+            default: throw new IllegalArgumentException("unknown spawn kind: " + name + " (fish, meat, suplemen)");
+        }
+    }
+
+    // Index of the entry that applies to the level
+    int entryFor(int level) {
+        int i = Arrays.binarySearch(fromLevel, level);
+        return i >= 0 ? i : Math.max(0, -i - 2);
+    }
+
+    int eventCount(int entry) {
+        return kinds[entry].length;
+    }
+
+    byte kind(int entry, int event) {
+        return kinds[entry][event];
+    }
+
+    // Meters into the phase, rounded to whole meters
+    int offsetMeters(int entry, int event, int phaseLength) {
+        double at = offsets[entry][event];
+        return (int) Math.round(inMeters[entry][event] ? at : at * phaseLength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SpawnPattern && ((SpawnPattern) o).text.equals(text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
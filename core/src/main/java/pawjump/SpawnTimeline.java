@@ -0,0 +1,76 @@
+package pawjump;
+
+// The item spawns of the current phase, built once when the phase starts: events sorted by the
+// distance at which they fire. The simulation only looks at the head, so a tick where nothing
+// is due costs one comparison. An event that is due but cannot spawn yet (its item kind is
+// still on screen) stays pending, without holding back later events of other kinds.
+final class SpawnTimeline {
+    private double[] at = new double[8];   // accumulated distance, meters
+    private byte[] kind = new byte[8];
+    private boolean[] done = new boolean[8];
+    private int size = 0;
+    private int head = 0;                  // first event not yet done
+
+    // Lay out the events of a phase from the pattern entry for its level
+    void build(SpawnPattern pattern, int level, int phaseStart, int phaseLength) {
+        int entry = pattern.entryFor(level);
+        int n = pattern.eventCount(entry);
+        if (n > at.length) {
+            at = new double[n];
+            kind = new byte[n];
+            done = new boolean[n];
+        }
+        size = 0;
+        head = 0;
+        for (int i = 0; i < n; i++) {
+            int offset = pattern.offsetMeters(entry, i, phaseLength);
+            if (offset >= phaseLength) continue; // past the end of this phase
+            // Insertion keeps the order stable for events at the same distance
+            int j = size - 1;
+            while (j >= 0 && at[j] > phaseStart + offset) {
+                at[j + 1] = at[j];
+                kind[j + 1] = kind[j];
+                j--;
+            }
+            at[j + 1] = phaseStart + offset;
+            kind[j + 1] = pattern.kind(entry, i);
+            size++;
+        }
+        for (int i = 0; i < size; i++) done[i] = false;
+    }
+
+    void copyFrom(SpawnTimeline o) {
+        at = o.at.clone();
+        kind = o.kind.clone();
+        done = o.done.clone();
+        size = o.size;
+        head = o.head;
+    }
+
+    // Distance of the next pending event, or +infinity when the phase has none left
+    double nextDistance() {
+        return head < size ? at[head] : Double.POSITIVE_INFINITY;
+    }
+
+    // Events are visited as index ranges: for (i = first(); isDue(i, d); i++)
+    int first() {
+        return head;
+    }
+
+    boolean isDue(int i, double distance) {
+        return i < size && at[i] <= distance;
+    }
+
+    boolean isDone(int i) {
+        return done[i];
+    }
+
+    byte kind(int i) {
+        return kind[i];
+    }
+
+    void markDone(int i) {
+        done[i] = true;
+        while (head < size && done[head]) head++;
+    }
+}
@@ -0,0 +1,104 @@
+package pawjump;
+
+// Hashed timing wheel over simulation ticks, for delayed and duration-based events (a buff
+// running out, a banner hiding, the end of an animation). Timers are a fixed set of ids
+// chosen by the owner, each pending at most once; a timer lives in the slot (due tick mod
+// slot count) as a node of an intrusive doubly linked list kept in int arrays, so scheduling,
+// rescheduling and cancelling are O(1) and nothing is allocated after construction. Delays
+// longer than the wheel simply stay in their slot until the tick they are due.
+//
+// The wheel only moves when its owner calls advance() with the new tick, so events pause
+// with the simulation and fire on the same tick whether it runs live, headless or as fast
+// as the CPU allows.
+final class TickWheel {
+    private static final int NIL = -1;
+
+    private final int mask;
+    private final int[] head;      // per slot, first timer or NIL
+    private final int[] next, prev;
+    private final long[] due;
+    private final boolean[] pending;
+    private final int[] fired;     // timers that came due in the last advance()
+    private int firedCount = 0;
+    private long now = 0;          // tick of the last advance()
+
+    // slots is rounded up to a power of two; size it to the usual longest delay
+    TickWheel(int timers, int slots) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        mask = size - 1;
+        head = new int[size];
+        java.util.Arrays.fill(head, NIL);
+        next = new int[timers];
+        prev = new int[timers];
+        due = new long[timers];
+        pending = new boolean[timers];
+        fired = new int[timers];
+    }
+
+    // Fire timer at dueTick, replacing any earlier schedule; a tick that has already been
+    // reached fires on the next advance()
+    void schedule(int timer, long dueTick) {
+        cancel(timer);
+        long at = Math.max(dueTick, now + 1);
+        int slot = (int) (at & mask);
+        due[timer] = at;
+        pending[timer] = true;
+        prev[timer] = NIL;
+        next[timer] = head[slot];
+        if (head[slot] != NIL) prev[head[slot]] = timer;
+        head[slot] = timer;
+    }
+
+    void cancel(int timer) {
+        if (!pending[timer]) return;
+        pending[timer] = false;
+        if (prev[timer] != NIL) next[prev[timer]] = next[timer];
+        else head[(int) (due[timer] & mask)] = next[timer];
+        if (next[timer] != NIL) prev[next[timer]] = prev[timer];
+    }
+
+    boolean pending(int timer) {
+        return pending[timer];
+    }
+
+    // Tick the timer fires at (only meaningful while it is pending)
+    long due(int timer) {
+        return due[timer];
+    }
+
+    // Move to tick (normally the next one) and collect the timers due up to it; returns how
+    // many fired, read them with fired(i). Timers scheduled while handling them fire later.
+    int advance(long tick) {
+        firedCount = 0;
+        // A jump over more than a whole turn visits every slot once
+        long from = Math.max(now + 1, tick - mask);
+        for (long t = from; t <= tick; t++) {
+            int timer = head[(int) (t & mask)];
+            while (timer != NIL) {
+                int after = next[timer];
+                if (due[timer] <= tick) {
+                    cancel(timer);
+                    fired[firedCount++] = timer;
+                }
+                timer = after;
+            }
+        }
+        now = Math.max(now, tick);
+        return firedCount;
+    }
+
+    int fired(int i) {
+        return fired[i];
+    }
+
+    // Same pending timers as other (same size), for GameSimulation.fork
+    void copyFrom(TickWheel other) {
+        System.arraycopy(other.head, 0, head, 0, head.length);
+        System.arraycopy(other.next, 0, next, 0, next.length);
+        System.arraycopy(other.prev, 0, prev, 0, prev.length);
+        System.arraycopy(other.due, 0, due, 0, due.length);
+        System.arraycopy(other.pending, 0, pending, 0, pending.length);
+        firedCount = 0;
+        now = other.now;
+    }
+}
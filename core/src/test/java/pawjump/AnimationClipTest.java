@@ -0,0 +1,85 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AnimationClipTest {
+    // Sheet frames shown on ticks 0..ticks-1 after the start
+    private static String frames(int clip, int ticks) {
+        AnimationClip c = AnimationClip.get(clip);
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < ticks; t++) sb.append(c.frame(t) == AnimationClip.NO_FRAME ? "-" : String.valueOf(c.frame(t)));
+        return sb.toString();
+    }
+
+    @Test
+    void baselineTimingsArePinned() {
+        // Attack: 4 frames of 4 ticks, once
+        assertEquals(AnimationClip.Mode.ONCE, AnimationClip.get(AnimationClip.ATTACK).mode);
+        assertEquals(16, AnimationClip.get(AnimationClip.ATTACK).length());
+        assertEquals("0000111122223333----", frames(AnimationClip.ATTACK, 20));
+        // Hurt: 2 frames of 6 ticks, looping
+        assertEquals(AnimationClip.Mode.LOOP, AnimationClip.get(AnimationClip.HURT).mode);
+        assertEquals(12, AnimationClip.get(AnimationClip.HURT).length());
+        assertEquals("000000111111000000111111", frames(AnimationClip.HURT, 24));
+        // Death: 4 frames of 8 ticks, then the last one stays
+        assertEquals(AnimationClip.Mode.HOLD_LAST, AnimationClip.get(AnimationClip.DEATH).mode);
+        assertEquals(32, AnimationClip.get(AnimationClip.DEATH).length());
+        assertEquals("00000000111111112222222233333333" + "33333333", frames(AnimationClip.DEATH, 40));
+        // Walk and the bird: 6 frames of 3 ticks, looping
+        assertEquals("000111222333444555000", frames(AnimationClip.WALK, 21));
+        assertEquals("000111222333444555000", frames(AnimationClip.BIRD, 21));
+    }
+
+    @Test
+    void modesAfterTheLastTick() {
+        AnimationClip loop = new AnimationClip("X", new int[] { 5, 7 }, new int[] { 1, 2 }, AnimationClip.Mode.LOOP);
+        AnimationClip once = new AnimationClip("X", new int[] { 5, 7 }, new int[] { 1, 2 }, AnimationClip.Mode.ONCE);
+        AnimationClip hold = new AnimationClip("X", new int[] { 5, 7 }, new int[] { 1, 2 }, AnimationClip.Mode.HOLD_LAST);
+        long[] ticks = { 0, 1, 2, 3, 4, 5, 3_000_000_000L };
+        int[] looped = { 5, 7, 7, 5, 7, 7, 5 };
+        for (int i = 0; i < ticks.length; i++) {
+            assertEquals(looped[i], loop.frame(ticks[i]), "loop at " + ticks[i]);
+            assertEquals(ticks[i] < 3 ? looped[i] : AnimationClip.NO_FRAME, once.frame(ticks[i]), "once at " + ticks[i]);
+            assertEquals(ticks[i] < 3 ? looped[i] : 7, hold.frame(ticks[i]), "hold at " + ticks[i]);
+        }
+        // Before the start shows the first frame
+        assertEquals(5, once.frame(-4));
+    }
+
+    @Test
+    void noClipHasNoFrame() {
+        assertEquals(AnimationClip.NO_FRAME, AnimationClip.frame(AnimationClip.NO_CLIP, 0, 10));
+        assertEquals(2, AnimationClip.frame(AnimationClip.ATTACK, 100, 108));
+    }
+
+    @Test
+    void rejectsMalformedClips() {
+        assertThrows(IllegalArgumentException.class, () -> new AnimationClip("X", new int[0], new int[0], AnimationClip.Mode.LOOP));
+        assertThrows(IllegalArgumentException.class, () -> new AnimationClip("X", new int[] { 0, 1 }, new int[] { 1 }, AnimationClip.Mode.LOOP));
+        assertThrows(IllegalArgumentException.class, () -> new AnimationClip("X", new int[] { 0 }, new int[] { 0 }, AnimationClip.Mode.LOOP));
+    }
+
+    @Test
+    void playerNeverShowsAnEndedClip() {
+        // A ONCE clip past its end draws the renderer's placeholder; the simulation must
+        // switch away from the attack before that, on every tick of real runs
+        boolean[] seen = new boolean[AnimationClip.count()];
+        for (long seed = 1; seed <= 20; seed++) {
+            GameSimulation sim = new GameSimulation(GameRules.DEFAULT, seed);
+            BotPolicy bot = BotPolicy.create("reactive", seed);
+            InputFrame input = new InputFrame();
+            while (!sim.gameOver && sim.tick < 20_000) {
+                bot.decide(sim, input);
+                sim.step(input);
+                input.clear();
+                int clip = sim.playerClip();
+                seen[clip] = true;
+                assertNotEquals(AnimationClip.NO_FRAME, AnimationClip.frame(clip, sim.playerClipStart(), sim.tick),
+                        "seed " + seed + " tick " + sim.tick + " clip " + clip);
+            }
+        }
+        assertTrue(seen[AnimationClip.ATTACK] && seen[AnimationClip.HURT] && seen[AnimationClip.DEATH]);
+    }
+}
@@ -0,0 +1,119 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class BroadphaseTest {
+    // Contacts an O(n²) scan finds: every tracked entity the swept test hits, by (time, id)
+    private static List<double[]> bruteForce(EntityStore e, byte minType, byte maxType, int qx, int qy0, int qy1, int qw, int qh) {
+        List<double[]> hits = new ArrayList<>();
+        for (int id = 0; id < e.end(); id++) {
+            if (!e.active[id] || e.type[id] < minType || e.type[id] > maxType) continue;
+            int x0 = (int) e.prevX[id], x1 = (int) e.x[id];
+            int relDy = (e.y[id] - e.prevY[id]) - (qy1 - qy0);
+            double t = SweptAabb.timeOfImpact(x0, e.prevY[id], e.w[id], e.h[id], x1 - x0, relDy, qx, qy0, qw, qh);
+            if (t != SweptAabb.NO_HIT) hits.add(new double[] { t, id });
+        }
+        hits.sort(Comparator.<double[]>comparingDouble(h -> h[0]).thenComparingDouble(h -> h[1]));
+        return hits;
+    }
+
+    private static void spawn(EntityStore e, SplittableRandom r) {
+        int id = e.spawn((byte) r.nextInt(EntityStore.SUPLEMEN + 1));
+        e.x[id] = r.nextInt(-100, 1400) + r.nextDouble();
+        e.prevX[id] = e.x[id] + r.nextInt(0, 160); // scrolling left, some fast
+        e.y[id] = r.nextInt(0, 700);
+        e.prevY[id] = e.y[id] + r.nextInt(-8, 9);
+        e.w[id] = r.nextInt(10, 100);
+        e.h[id] = r.nextInt(10, 100);
+    }
+
+    // Move every entity like a tick does: save positions, scroll left, bob a little
+    private static void move(EntityStore e, SplittableRandom r) {
+        e.savePositions();
+        for (int id = 0; id < e.end(); id++) {
+            if (!e.active[id]) continue;
+            e.x[id] -= r.nextInt(0, 160);
+            e.y[id] += r.nextInt(-8, 9);
+        }
+    }
+
+    // Returns how many contacts the queries found, so callers can check they tested something
+    private static int assertMatchesBruteForce(EntityStore e, Broadphase bp, SplittableRandom r, String when) {
+        int found = 0;
+        for (int q = 0; q < 40; q++) {
+            int qx = r.nextInt(-50, 1300), qy0 = r.nextInt(0, 700), qy1 = qy0 + r.nextInt(-40, 41);
+            int qw = r.nextInt(20, 80), qh = r.nextInt(20, 80);
+            List<double[]> expected = bruteForce(e, EntityStore.FISH, EntityStore.SUPLEMEN, qx, qy0, qy1, qw, qh);
+            int n = bp.query(e, qx, qy0, qy1, qw, qh);
+            assertEquals(expected.size(), n, when + ": contact count");
+            found += n;
+            for (int c = 0; c < n; c++) {
+                assertEquals((int) expected.get(c)[1], bp.contact(c), when + ": contact " + c);
+                assertEquals(expected.get(c)[0], bp.contactTime(c), when + ": time of contact " + c);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void matchesBruteForceOnRandomStores() {
+        SplittableRandom r = new SplittableRandom(99);
+        EntityStore e = new EntityStore(8);
+        Broadphase bp = new Broadphase(EntityStore.FISH, EntityStore.SUPLEMEN);
+        int found = 0;
+        for (int round = 0; round < 300; round++) {
+            // Free some, spawn some (sometimes more than the spawn log holds), now and then
+            // clear the whole store
+            if (round % 50 == 49) {
+                e.clear();
+            } else {
+                for (int id = 0; id < e.end(); id++) {
+                    if (e.active[id] && r.nextInt(6) == 0) e.free(id);
+                }
+            }
+            int spawns = round % 17 == 0 ? 100 : r.nextInt(0, 12);
+            for (int i = 0; i < spawns; i++) spawn(e, r);
+            move(e, r);
+            bp.update(e);
+            found += assertMatchesBruteForce(e, bp, r, "round " + round);
+        }
+        assertTrue(found > 100, "queries found " + found + " contacts");
+    }
+
+    @Test
+    void picksUpEntitiesAfterTheSpawnLogRotates() {
+        SplittableRandom r = new SplittableRandom(5);
+        EntityStore e = new EntityStore(4);
+        Broadphase bp = new Broadphase(EntityStore.FISH, EntityStore.SUPLEMEN);
+        bp.update(e);
+        // Far more spawns than the log keeps, in one go
+        for (int i = 0; i < 500; i++) spawn(e, r);
+        move(e, r);
+        bp.update(e);
+        assertTrue(assertMatchesBruteForce(e, bp, r, "after 500 spawns") > 0);
+    }
+
+    @Test
+    void forgetsEverythingOnClear() {
+        SplittableRandom r = new SplittableRandom(11);
+        EntityStore e = new EntityStore(16);
+        Broadphase bp = new Broadphase(EntityStore.FISH, EntityStore.SUPLEMEN);
+        for (int i = 0; i < 40; i++) spawn(e, r);
+        move(e, r);
+        bp.update(e);
+        e.clear();
+        bp.update(e);
+        assertEquals(0, bp.query(e, 0, 0, 700, 1280, 720));
+        // Ids are reused from 0 after a clear
+        for (int i = 0; i < 10; i++) spawn(e, r);
+        move(e, r);
+        bp.update(e);
+        assertMatchesBruteForce(e, bp, r, "after clear and respawn");
+    }
+}
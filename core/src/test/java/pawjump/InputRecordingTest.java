@@ -0,0 +1,171 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import org.junit.jupiter.api.Test;
+
+class InputRecordingTest {
+    private static final long SEED = 1234L;
+
+    // Play a seeded bot run to the end, recording it the way GamePanel does
+    private static InputRecording recordBotRun(GameRules rules, long seed) {
+        GameSimulation sim = new GameSimulation(rules, seed);
+        InputRecording rec = new InputRecording(seed, rules);
+        BotPolicy bot = BotPolicy.create("reactive", seed);
+        InputFrame input = new InputFrame();
+        while (!sim.gameOver && sim.tick < 200_000) {
+            bot.decide(sim, input);
+            rec.record(sim.tick + 1, input);
+            sim.step(input);
+            input.clear();
+        }
+        rec.finish(sim);
+        return rec;
+    }
+
+    private static InputRecording roundTrip(InputRecording rec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        rec.writeTo(bytes);
+        return InputRecording.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    void botRunSurvivesSerializationAndVerifies() throws IOException {
+        InputRecording rec = recordBotRun(GameRules.DEFAULT, SEED);
+        assertTrue(rec.sizeBytes() > 0);
+        InputRecording read = roundTrip(rec);
+        assertEquals(SEED, read.seed);
+        assertEquals(GameRules.DEFAULT.toString(), read.rules.toString());
+        assertEquals(rec.finalTick, read.finalTick);
+        assertEquals(rec.finalChecksum, read.finalChecksum);
+        assertEquals(rec.sizeBytes(), read.sizeBytes());
+        assertTrue(read.verify(read.replay()));
+    }
+
+    @Test
+    void changedRuleMismatches() throws IOException {
+        InputRecording rec = roundTrip(recordBotRun(GameRules.DEFAULT, SEED));
+        GameRules d = GameRules.DEFAULT;
+        GameRules faster = new GameRules(d.fishNeeded, d.phaseLength, d.floatChance, d.movingChance, d.speedStep * 2, d.spawns);
+        InputRecording changed = new InputRecording(rec.seed, faster);
+        changed.finalTick = rec.finalTick;
+        changed.finalScore = rec.finalScore;
+        changed.finalLevel = rec.finalLevel;
+        changed.finalHealth = rec.finalHealth;
+        changed.finalChecksum = rec.finalChecksum;
+        assertFalse(changed.verify(changed.replay()));
+    }
+
+    @Test
+    void varintsTakeOneBytePerSevenBits() {
+        // Tick deltas needing one, two and three varint bytes; input bits with the largest lag
+        long[] ticks = { 1, 100, 300, 20_300, 20_301 };
+        InputFrame input = new InputFrame();
+        InputRecording rec = new InputRecording(SEED, GameRules.DEFAULT);
+        for (int i = 0; i < ticks.length; i++) {
+            input.jump = true;
+            input.jumpLag = i == 1 ? InputFrame.SUB_TICKS - 1 : i;
+            rec.record(ticks[i], input);
+            input.clear();
+            rec.record(ticks[i] + 1, input); // empty input is not recorded
+        }
+        // delta + bits per event: 1+1, 1+1, 2+1, 3+1, 1+1 bytes
+        assertEquals(13, rec.sizeBytes());
+    }
+
+    @Test
+    void everyLagAndLongGapsReplayExactly() throws IOException {
+        // A bot run whose jumps carry every sub-tick lag, with stretches of several hundred
+        // ticks between some of them (multi-byte deltas); any misread event would change the
+        // player's arc and so the outcome
+        GameSimulation sim = new GameSimulation(GameRules.DEFAULT, SEED);
+        InputRecording rec = new InputRecording(SEED, GameRules.DEFAULT);
+        BotPolicy bot = BotPolicy.create("reactive", SEED);
+        InputFrame input = new InputFrame();
+        boolean[] lags = new boolean[InputFrame.SUB_TICKS];
+        long lastJump = 0, longestGap = 0;
+        while (!sim.gameOver && sim.tick < 200_000) {
+            bot.decide(sim, input);
+            if (input.jump) {
+                input.jumpLag = (int) (sim.tick % InputFrame.SUB_TICKS);
+                lags[input.jumpLag] = true;
+                longestGap = Math.max(longestGap, sim.tick + 1 - lastJump);
+                lastJump = sim.tick + 1;
+            }
+            rec.record(sim.tick + 1, input);
+            sim.step(input);
+            input.clear();
+        }
+        rec.finish(sim);
+        for (boolean seen : lags) assertTrue(seen);
+        assertTrue(longestGap >= 128, "longest gap " + longestGap);
+        GameSimulation replayed = roundTrip(rec).replay();
+        assertTrue(rec.verify(replayed));
+        assertEquals(sim.playerY, replayed.playerY);
+        assertEquals(sim.accumulatedDistance, replayed.accumulatedDistance);
+    }
+
+    @Test
+    void replayAppliesRecordedSubTickLag() {
+        // Same jump at the same tick with a different lag lands on a different arc
+        GameSimulation early = jumpAt(40, 0), late = jumpAt(40, 12);
+        assertNotEquals(early.playerY, late.playerY);
+        InputRecording rec = new InputRecording(SEED, GameRules.DEFAULT);
+        InputFrame input = new InputFrame();
+        input.jump = true;
+        input.jumpLag = 12;
+        rec.record(40, input);
+        rec.finish(late);
+        GameSimulation replayed = rec.replay();
+        assertTrue(rec.verify(replayed));
+        assertEquals(late.playerY, replayed.playerY);
+    }
+
+    private static GameSimulation jumpAt(long tick, int lag) {
+        GameSimulation sim = new GameSimulation(GameRules.DEFAULT, SEED);
+        InputFrame input = new InputFrame();
+        while (sim.tick < tick + 5) {
+            if (sim.tick + 1 == tick) {
+                input.jump = true;
+                input.jumpLag = lag;
+            }
+            sim.step(input);
+            input.clear();
+        }
+        return sim;
+    }
+
+    @Test
+    void readsVersionOneWithoutSpawnPattern() throws IOException {
+        InputRecording rec = recordBotRun(GameRules.DEFAULT, SEED);
+        ByteArrayOutputStream v2 = new ByteArrayOutputStream();
+        rec.writeTo(v2);
+        // Version 1 is version 2 without the spawn pattern string after the rules
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(v2.toByteArray()));
+        ByteArrayOutputStream v1 = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(v1);
+        out.writeInt(in.readInt());
+        in.readUnsignedByte();
+        out.writeByte(1);
+        out.writeLong(in.readLong());
+        out.writeInt(in.readInt());
+        out.writeInt(in.readInt());
+        out.writeDouble(in.readDouble());
+        out.writeDouble(in.readDouble());
+        out.writeDouble(in.readDouble());
+        in.readUTF();
+        in.transferTo(out);
+        out.flush();
+        InputRecording read = InputRecording.readFrom(new ByteArrayInputStream(v1.toByteArray()));
+        assertEquals(SpawnPattern.DEFAULT, read.rules.spawns);
+        assertTrue(read.verify(read.replay()));
+    }
+
+    @Test
+    void rejectsForeignFilesAndNewerVersions() {
+        assertThrows(IOException.class, () -> InputRecording.readFrom(new ByteArrayInputStream(new byte[] { 'P', 'N', 'G', 0, 0 })));
+        byte[] future = { 0x50, 0x4A, 0x52, 0x43, 99 };
+        assertThrows(IOException.class, () -> InputRecording.readFrom(new ByteArrayInputStream(future)));
+    }
+}
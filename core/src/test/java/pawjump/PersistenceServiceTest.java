@@ -0,0 +1,80 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistenceServiceTest {
+    @TempDir
+    File dir;
+
+    private static PersistenceService.RunRecord run(int n) {
+        return new PersistenceService.RunRecord(1_000L + n, 0xABCDEF00L + n, 100 * n, n, 3 * n, 5_000L * n);
+    }
+
+    private static void assertRun(int n, PersistenceService.RunRecord r) {
+        PersistenceService.RunRecord e = run(n);
+        assertEquals(e.endedAtMillis, r.endedAtMillis);
+        assertEquals(e.seed, r.seed);
+        assertEquals(e.score, r.score);
+        assertEquals(e.level, r.level);
+        assertEquals(e.fish, r.fish);
+        assertEquals(e.ticks, r.ticks);
+    }
+
+    private static void appendGarbage(File file, int bytes) throws IOException {
+        byte[] junk = new byte[bytes];
+        java.util.Arrays.fill(junk, (byte) 0x5A);
+        Files.write(file.toPath(), junk, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void appendedRunsReadBack() throws IOException {
+        File log = new File(dir, "runs.dat");
+        assertTrue(PersistenceService.readRuns(log).isEmpty());
+        for (int n = 1; n <= 3; n++) PersistenceService.appendRun(log, run(n));
+        List<PersistenceService.RunRecord> runs = PersistenceService.readRuns(log);
+        assertEquals(3, runs.size());
+        for (int n = 1; n <= 3; n++) assertRun(n, runs.get(n - 1));
+    }
+
+    @Test
+    void appendAfterATornRecordStaysAligned() throws IOException {
+        File log = new File(dir, "runs.dat");
+        PersistenceService.appendRun(log, run(1));
+        PersistenceService.appendRun(log, run(2));
+        // A crash mid-write left part of a third record
+        appendGarbage(log, 17);
+        assertEquals(2, PersistenceService.readRuns(log).size());
+        PersistenceService.appendRun(log, run(3));
+        PersistenceService.appendRun(log, run(4));
+        List<PersistenceService.RunRecord> runs = PersistenceService.readRuns(log);
+        assertEquals(4, runs.size());
+        for (int n = 1; n <= 4; n++) assertRun(n, runs.get(n - 1));
+    }
+
+    @Test
+    void appendAfterATornHeaderStartsOver() throws IOException {
+        File log = new File(dir, "runs.dat");
+        appendGarbage(log, 5);
+        PersistenceService.appendRun(log, run(1));
+        List<PersistenceService.RunRecord> runs = PersistenceService.readRuns(log);
+        assertEquals(1, runs.size());
+        assertRun(1, runs.get(0));
+    }
+
+    @Test
+    void highScoreIsReplacedAtomically() throws IOException {
+        File file = new File(dir, "sub/highscore.txt");
+        assertEquals(0, PersistenceService.readHighScore(file));
+        PersistenceService.writeHighScore(file, 1234);
+        PersistenceService.writeHighScore(file, 2500);
+        assertEquals(2500, PersistenceService.readHighScore(file));
+        assertFalse(new File(dir, "sub/highscore.txt.tmp").exists());
+    }
+}
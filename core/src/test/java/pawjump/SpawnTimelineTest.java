@@ -0,0 +1,146 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class SpawnTimelineTest {
+    private static final int PHASE = GameRules.DEFAULT.phaseLength;
+
+    // (distance, kind) of every event of a built timeline, in order
+    private static String events(SpawnTimeline t) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = t.first(); t.isDue(i, Double.MAX_VALUE); i++) {
+            sb.append(sb.length() == 0 ? "" : " ").append(name(t.kind(i))).append('@').append((long) nextAt(t, i));
+        }
+        return sb.toString();
+    }
+
+    // Distance of event i: the smallest distance at which it is due
+    private static double nextAt(SpawnTimeline t, int i) {
+        double lo = 0, hi = 1e9;
+        while (hi - lo > 0.5) {
+            double mid = (lo + hi) / 2;
+            if (t.isDue(i, mid)) hi = mid;
+            else lo = mid;
+        }
+        return Math.round(hi);
+    }
+
+    private static String name(byte kind) {
+        return kind == EntityStore.FISH ? "fish" : kind == EntityStore.MEAT ? "meat" : "suplemen";
+    }
+
+    @Test
+    void defaultPatternReproducesTheBaselineSchedule() {
+        SpawnTimeline t = new SpawnTimeline();
+        t.build(SpawnPattern.DEFAULT, 1, 0, PHASE);
+        // Fish from the phase start, meat at 50 and 200 m, suplemen at 125 m
+        assertEquals("fish@0 meat@50 suplemen@125 meat@200", events(t));
+        // Every later phase repeats it from its own start
+        t.build(SpawnPattern.DEFAULT, 4, 3 * PHASE, PHASE);
+        assertEquals("fish@750 meat@800 suplemen@875 meat@950", events(t));
+    }
+
+    @Test
+    void pendingEventDoesNotHoldBackLaterOnes() {
+        SpawnTimeline t = new SpawnTimeline();
+        t.build(SpawnPattern.DEFAULT, 1, 0, PHASE);
+        assertEquals(0, t.nextDistance());
+        // The fish is done, the first meat is due but cannot spawn yet
+        t.markDone(0);
+        assertEquals(50, t.nextDistance());
+        // The suplemen after it spawns on time; the meat stays at the head
+        t.markDone(2);
+        assertEquals(50, t.nextDistance());
+        assertFalse(t.isDone(1));
+        t.markDone(1);
+        assertEquals(200, t.nextDistance());
+        t.markDone(3);
+        assertEquals(Double.POSITIVE_INFINITY, t.nextDistance());
+    }
+
+    @Test
+    void patternsChangePerLevelAndDropEventsPastThePhase() {
+        SpawnPattern p = SpawnPattern.parse("fish@0 meat@0.5; 3: meat@20m fish@0 suplemen@400m");
+        assertEquals(0, p.entryFor(1));
+        assertEquals(0, p.entryFor(2));
+        assertEquals(1, p.entryFor(3));
+        assertEquals(1, p.entryFor(99));
+        SpawnTimeline t = new SpawnTimeline();
+        t.build(p, 3, 500, PHASE);
+        assertEquals("fish@500 meat@520", events(t));
+    }
+
+    @Test
+    void parseRejectsMalformedPatterns() {
+        String[] bad = {
+                "", "fish", "fish@", "@0.5", "fish@0@1", "cat@0.1", "fish@abc", "meat@1", "meat@1.5",
+                "meat@-0.1", "meat@-5m", "0: fish@0", "fish@0; 3: meat@0; 3: meat@0.5", "fish@0; 5: meat@0; 2: meat@0",
+                "x: fish@0",
+        };
+        for (String text : bad) {
+            assertThrows(IllegalArgumentException.class, () -> SpawnPattern.parse(text), text);
+        }
+        // Meters may pass the phase end; such events are dropped when a phase is built
+        assertEquals("meat@300m", SpawnPattern.parse("  meat@300m ").toString());
+    }
+
+    @Test
+    void freeIntervalsNeverSampleABlockedValue() {
+        SplittableRandom r = new SplittableRandom(3);
+        FreeIntervals f = new FreeIntervals();
+        f.reset(0, 9);
+        f.block(0, 0);   // first value
+        f.block(9, 9);   // last value
+        f.block(3, 5);
+        f.block(4, 6);   // overlapping
+        f.block(-20, -1); // out of range, ignored
+        f.block(12, 30);
+        boolean[] seen = new boolean[10];
+        for (int i = 0; i < 2000; i++) {
+            int v = f.sample(r, -1);
+            assertTrue(v == 1 || v == 2 || v == 7 || v == 8, "sampled " + v);
+            seen[v] = true;
+        }
+        // Every free value, including the ones next to the range ends, is reachable
+        assertTrue(seen[1] && seen[2] && seen[7] && seen[8]);
+    }
+
+    @Test
+    void freeIntervalsAtTheRangeEnds() {
+        SplittableRandom r = new SplittableRandom(4);
+        FreeIntervals f = new FreeIntervals();
+        // Only the first value free
+        f.reset(10, 20);
+        f.block(11, 25);
+        for (int i = 0; i < 100; i++) assertEquals(10, f.sample(r, -1));
+        // Only the last value free
+        f.reset(10, 20);
+        f.block(5, 19);
+        for (int i = 0; i < 100; i++) assertEquals(20, f.sample(r, -1));
+        // Single-value range
+        f.reset(7, 7);
+        assertEquals(7, f.sample(r, -1));
+        // Fully blocked, by one block or by adjacent ones
+        f.reset(10, 20);
+        f.block(10, 20);
+        assertEquals(-1, f.sample(r, -1));
+        f.reset(10, 20);
+        f.block(10, 14);
+        f.block(15, 20);
+        assertEquals(-1, f.sample(r, -1));
+    }
+
+    @Test
+    void freeIntervalsSampleUniformly() {
+        SplittableRandom r = new SplittableRandom(5);
+        FreeIntervals f = new FreeIntervals();
+        f.reset(0, 99);
+        f.block(10, 89); // free: 0..9 and 90..99
+        int low = 0, n = 20_000;
+        for (int i = 0; i < n; i++) if (f.sample(r, -1) < 10) low++;
+        assertEquals(0.5, low / (double) n, 0.02);
+    }
+}
@@ -0,0 +1,76 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SweptAabbTest {
+    private static final double NO_HIT = SweptAabb.NO_HIT;
+
+    @Test
+    void boxPassingCleanThroughIsHitAtEntry() {
+        // 10 wide box moves 100 px right through a 10 wide box at 50: enters at x = 40
+        double t = SweptAabb.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 0, 10, 10);
+        assertEquals(0.4, t, 1e-9);
+    }
+
+    @Test
+    void endPositionsAloneWouldMissTheTunnel() {
+        // Neither end overlaps, the sweep does
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 0, 0, 50, 0, 10, 10));
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(100, 0, 10, 10, 0, 0, 50, 0, 10, 10));
+        assertNotEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 0, 10, 10));
+    }
+
+    @Test
+    void edgesThatOnlyTouchAreNotAHit() {
+        // Standing side by side, and ending the tick edge to edge
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 0, 0, 10, 0, 10, 10));
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 5, 0, 15, 0, 10, 10));
+        // Sliding along a shared top/bottom edge
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 10, 10, 10));
+        // Starting edge to edge and moving away
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(10, 0, 10, 10, 5, 0, 0, 0, 10, 10));
+        // Falling onto a box and stopping exactly on its top
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 0, 10, 0, 20, 10, 10));
+    }
+
+    @Test
+    void endingOverlappedByAnyAmountIsAHit() {
+        // One pixel of overlap at t = 1 is a hit, matching the discrete test
+        double t = SweptAabb.timeOfImpact(0, 0, 10, 10, 6, 0, 15, 0, 10, 10);
+        assertEquals(5 / 6.0, t, 1e-9);
+    }
+
+    @Test
+    void overlappingAtTheStartIsAHitAtZero() {
+        assertEquals(0.0, SweptAabb.timeOfImpact(0, 0, 10, 10, 0, 0, 5, 5, 10, 10));
+        assertEquals(0.0, SweptAabb.timeOfImpact(0, 0, 10, 10, -50, 30, 5, 5, 10, 10));
+    }
+
+    @Test
+    void missingOnTheOtherAxisIsNoHit() {
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 30, 10, 10));
+        assertEquals(NO_HIT, SweptAabb.timeOfImpact(0, 0, 10, 10, 100, 5, 50, 30, 10, 10));
+    }
+
+    @Test
+    void fastPickupPassedWithinOneTickIsStillCollected() {
+        GameSimulation sim = new GameSimulation(GameRules.DEFAULT, 7L);
+        EntityStore e = sim.entities;
+        // A meat item just right of the player, moving far enough in one tick to end up fully
+        // to its left: neither end position overlaps the player
+        sim.speedMultiplier = 12; // 144 px per tick, the player and item are 50 + 48 wide
+        int id = e.spawn(EntityStore.MEAT);
+        sim.meatId = id;
+        e.x[id] = e.prevX[id] = sim.playerX + sim.playerW + 10;
+        e.y[id] = e.prevY[id] = sim.playerY;
+        e.w[id] = e.h[id] = GameSimulation.ITEM_SIZE;
+        double startX = e.x[id];
+        sim.step(new InputFrame());
+        assertTrue(startX - 144 + GameSimulation.ITEM_SIZE < sim.playerX, "item ends left of the player");
+        assertTrue(sim.meatEffectActive);
+        assertFalse(e.active[id]);
+        assertEquals(GameSimulation.NONE, sim.meatId);
+    }
+}
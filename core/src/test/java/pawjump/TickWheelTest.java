@@ -0,0 +1,138 @@
+package pawjump;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class TickWheelTest {
+    // Timers fired by advancing to tick, sorted
+    private static int[] advance(TickWheel w, long tick) {
+        int n = w.advance(tick);
+        int[] fired = new int[n];
+        for (int i = 0; i < n; i++) fired[i] = w.fired(i);
+        Arrays.sort(fired);
+        return fired;
+    }
+
+    @Test
+    void timersFireOnTheirTick() {
+        TickWheel w = new TickWheel(4, 8);
+        w.schedule(0, 3);
+        w.schedule(1, 5);
+        w.schedule(2, 3);
+        assertArrayEquals(new int[0], advance(w, 1));
+        assertArrayEquals(new int[0], advance(w, 2));
+        assertArrayEquals(new int[] { 0, 2 }, advance(w, 3));
+        assertFalse(w.pending(0));
+        assertTrue(w.pending(1));
+        assertArrayEquals(new int[0], advance(w, 4));
+        assertArrayEquals(new int[] { 1 }, advance(w, 5));
+    }
+
+    @Test
+    void timerBeyondTheWheelSpanStaysPendingUntilDue() {
+        TickWheel w = new TickWheel(2, 8); // 8 slots
+        w.schedule(0, 21); // same slot as ticks 5 and 13
+        w.schedule(1, 5);
+        for (long t = 1; t <= 20; t++) {
+            int[] fired = advance(w, t);
+            assertArrayEquals(t == 5 ? new int[] { 1 } : new int[0], fired, "tick " + t);
+            assertTrue(w.pending(0), "tick " + t);
+        }
+        assertEquals(21, w.due(0));
+        assertArrayEquals(new int[] { 0 }, advance(w, 21));
+    }
+
+    @Test
+    void advanceAcrossMoreThanOneRevolution() {
+        TickWheel w = new TickWheel(4, 8);
+        w.schedule(0, 2);
+        w.schedule(1, 9);
+        w.schedule(2, 30);
+        w.schedule(3, 31);
+        // 30 ticks in one call, almost four turns: everything due up to it fires once
+        assertArrayEquals(new int[] { 0, 1, 2 }, advance(w, 30));
+        assertTrue(w.pending(3));
+        assertArrayEquals(new int[] { 3 }, advance(w, 31));
+        // Nothing is left behind to fire again a turn later
+        assertArrayEquals(new int[0], advance(w, 100));
+    }
+
+    @Test
+    void pastTickFiresOnTheNextAdvance() {
+        TickWheel w = new TickWheel(1, 8);
+        advance(w, 10);
+        w.schedule(0, 4);
+        assertEquals(11, w.due(0));
+        assertArrayEquals(new int[] { 0 }, advance(w, 11));
+    }
+
+    @Test
+    void cancellingWhileHandlingTheFiredTimers() {
+        TickWheel w = new TickWheel(4, 8);
+        w.schedule(0, 3);
+        w.schedule(1, 3);
+        w.schedule(2, 3);
+        w.schedule(3, 4);
+        int n = w.advance(3);
+        assertEquals(3, n);
+        for (int i = 0; i < n; i++) {
+            int timer = w.fired(i);
+            // The timer being handled, and one fired in the same advance, are no longer
+            // pending; cancelling them does nothing
+            w.cancel(timer);
+            w.cancel(timer == 0 ? 1 : 0);
+            assertFalse(w.pending(timer));
+        }
+        // The slot lists are intact: the remaining timer still fires, and a reused one too
+        w.schedule(1, 4);
+        assertArrayEquals(new int[] { 1, 3 }, advance(w, 4));
+    }
+
+    @Test
+    void cancelStopsAPendingTimer() {
+        TickWheel w = new TickWheel(3, 8);
+        w.schedule(0, 5);
+        w.schedule(1, 5);
+        w.schedule(2, 5);
+        w.cancel(1); // middle of the slot's list
+        assertFalse(w.pending(1));
+        assertArrayEquals(new int[] { 0, 2 }, advance(w, 5));
+    }
+
+    @Test
+    void reschedulingFromInsideTheHandler() {
+        TickWheel w = new TickWheel(2, 8);
+        w.schedule(0, 1);
+        StringBuilder log = new StringBuilder();
+        // Timer 0 repeats every three ticks by rescheduling itself when handled, and asks for
+        // timer 1 on its own tick, which is already reached: that fires on the next advance
+        for (long t = 1; t <= 12; t++) {
+            int n = w.advance(t);
+            for (int i = 0; i < n; i++) {
+                int timer = w.fired(i);
+                log.append(timer).append('@').append(t).append(' ');
+                if (timer == 0) {
+                    w.schedule(0, t + 3);
+                    w.schedule(1, t);
+                }
+            }
+        }
+        assertEquals("0@1 1@2 0@4 1@5 0@7 1@8 0@10 1@11 ", log.toString());
+    }
+
+    @Test
+    void forkCopiesPendingTimers() {
+        TickWheel w = new TickWheel(2, 8);
+        w.schedule(0, 4);
+        w.schedule(1, 12);
+        advance(w, 2);
+        TickWheel copy = new TickWheel(2, 8);
+        copy.copyFrom(w);
+        assertArrayEquals(new int[] { 0 }, advance(copy, 4));
+        assertArrayEquals(new int[] { 1 }, advance(copy, 12));
+        // The original is unaffected
+        assertTrue(w.pending(0) && w.pending(1));
+    }
+}